@@ -0,0 +1,20 @@
+package com.investbank.dealpipeline.reactive;
+
+import com.investbank.dealpipeline.mapper.DealMapper;
+import com.investbank.dealpipeline.repository.SecondaryReads;
+import com.investbank.dealpipeline.security.JwtTokenProvider;
+import com.investbank.dealpipeline.service.KafkaProducerService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+// The /api/deals contract on WebFlux and the reactive MongoDB driver, against the same database, topic and
+// JWT secret as the servlet backend. Only this package is scanned; the shared components are imported explicitly.
+@SpringBootApplication
+@Import({DealMapper.class, JwtTokenProvider.class, KafkaProducerService.class, SecondaryReads.class})
+public class ReactiveDealPipelineApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveDealPipelineApplication.class, args);
+    }
+}
@@ -0,0 +1,44 @@
+package com.investbank.dealpipeline.reactive.config;
+
+import com.investbank.dealpipeline.reactive.handler.AuthHandler;
+import com.investbank.dealpipeline.reactive.handler.DealHandler;
+import com.investbank.dealpipeline.reactive.handler.ErrorResponses;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+// The subset of the servlet /api/deals contract served reactively. Bulk import/export, filter, search, batch
+// stage moves, notes and the binary encodings are only available on the servlet backend.
+@Configuration
+public class DealRoutes {
+
+    @Bean
+    public RouterFunction<ServerResponse> dealRouter(DealHandler dealHandler) {
+        return route()
+                .path("/api/deals", builder -> builder
+                        .GET("/stream", accept(MediaType.APPLICATION_NDJSON), dealHandler::streamAllDeals)
+                        .GET("/summary", dealHandler::getAllDealsSummary)
+                        .GET("/page", dealHandler::getDealsPage)
+                        .GET("/{id}", dealHandler::getDealById)
+                        .PUT("/{id}", dealHandler::updateDeal)
+                        .PATCH("/{id}/stage", dealHandler::updateDealStage)
+                        .DELETE("/{id}", dealHandler::deleteDeal)
+                        .GET(dealHandler::getAllDeals)
+                        .POST(dealHandler::createDeal))
+                .filter(new ErrorResponses())
+                .build();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> authRouter(AuthHandler authHandler) {
+        return route()
+                .POST("/api/auth/login", authHandler::login)
+                .filter(new ErrorResponses())
+                .build();
+    }
+}
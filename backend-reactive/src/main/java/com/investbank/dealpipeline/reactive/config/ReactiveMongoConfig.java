@@ -0,0 +1,11 @@
+package com.investbank.dealpipeline.reactive.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.config.EnableReactiveMongoAuditing;
+
+@Configuration
+@EnableReactiveMongoAuditing
+@Profile("!test")
+public class ReactiveMongoConfig {
+}
@@ -0,0 +1,110 @@
+package com.investbank.dealpipeline.reactive.config;
+
+import com.investbank.dealpipeline.reactive.repository.ReactiveRevokedTokenRepository;
+import com.investbank.dealpipeline.reactive.repository.ReactiveUserRepository;
+import com.investbank.dealpipeline.reactive.security.JwtAuthenticationWebFilter;
+import com.investbank.dealpipeline.reactive.security.ReactiveUserDetailsServiceImpl;
+import com.investbank.dealpipeline.security.JwtTokenProvider;
+import com.investbank.dealpipeline.security.RevokedTokens;
+import com.investbank.dealpipeline.security.TokenEpochs;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+// Mirrors the servlet SecurityConfig: stateless JWT authentication and the same path rules
+@Configuration
+@EnableWebFluxSecurity
+@RequiredArgsConstructor
+public class ReactiveSecurityConfig {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ReactiveUserDetailsServiceImpl userDetailsService;
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    // Checks passwords on the bounded elastic scheduler, so BCrypt never runs on the event loop
+    @Bean
+    public ReactiveAuthenticationManager authenticationManager() {
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        authenticationManager.setPasswordEncoder(passwordEncoder());
+        return authenticationManager;
+    }
+
+    // This backend does not consume deal-events, so deactivations and logouts made through another instance are
+    // only seen at the next reload. Loads block, but only at startup and on the reload thread, never on the event loop.
+    @Bean
+    public TokenEpochs tokenEpochs(ReactiveUserRepository userRepository,
+                                   @Value("${jwt.epochs.max-age:5m}") Duration maxAge) {
+        return new TokenEpochs(() -> userRepository.findAdvancedTokenEpochs().collectList().block(), maxAge);
+    }
+
+    @Bean
+    public RevokedTokens revokedTokens(ReactiveRevokedTokenRepository revokedTokenRepository,
+                                       @Value("${jwt.revocations.max-age:5m}") Duration maxAge) {
+        return new RevokedTokens(now -> revokedTokenRepository.findByExpiresAtAfter(now).collectList().block(), maxAge);
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, TokenEpochs tokenEpochs,
+                                                         RevokedTokens revokedTokens) {
+        return http
+                .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(exception ->
+                        exception.authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED))
+                )
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers("/api/auth/**").permitAll()
+                        .pathMatchers("/actuator/health/**").permitAll()
+                        .pathMatchers(HttpMethod.DELETE, "/api/deals/**").hasRole("ADMIN")
+                        .pathMatchers("/api/**").authenticated()
+                        .anyExchange().permitAll()
+                )
+                .addFilterAt(new JwtAuthenticationWebFilter(jwtTokenProvider, userDetailsService, tokenEpochs, revokedTokens),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    @Bean
+    public CorsConfigurationSource corsConfigurationSource() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(Arrays.asList(
+            "http://localhost:4200",
+            "http://localhost"
+        ));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "If-Match", "If-None-Match"));
+        configuration.setAllowCredentials(true);
+        configuration.setMaxAge(3600L);
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
+    }
+}
@@ -0,0 +1,49 @@
+package com.investbank.dealpipeline.reactive.handler;
+
+import com.investbank.dealpipeline.dto.request.LoginRequest;
+import com.investbank.dealpipeline.dto.response.LoginResponse;
+import com.investbank.dealpipeline.exception.BadRequestException;
+import com.investbank.dealpipeline.reactive.repository.ReactiveUserRepository;
+import com.investbank.dealpipeline.security.JwtTokenProvider;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+// Login only; registration and user administration stay on the servlet backend
+@Component
+@RequiredArgsConstructor
+public class AuthHandler {
+
+    private final ReactiveAuthenticationManager authenticationManager;
+    private final ReactiveUserRepository userRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final Validator validator;
+
+    public Mono<ServerResponse> login(ServerRequest request) {
+        return request.bodyToMono(LoginRequest.class)
+                .switchIfEmpty(Mono.error(() -> new BadRequestException("Request body is required")))
+                .doOnNext(this::validate)
+                .flatMap(login -> authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(login.getUsername(), login.getPassword())))
+                .flatMap(authentication -> userRepository.findByUsername(authentication.getName())
+                        .switchIfEmpty(Mono.error(() -> new BadRequestException("User not found")))
+                        .map(user -> LoginResponse.builder()
+                                .token(jwtTokenProvider.generateToken(authentication))
+                                .username(user.getUsername())
+                                .email(user.getEmail())
+                                .role(user.getRole().name())
+                                .build()))
+                .flatMap(response -> ServerResponse.ok().bodyValue(response));
+    }
+
+    private void validate(LoginRequest login) {
+        if (!validator.validate(login).isEmpty()) {
+            throw new BadRequestException("Username and password are required");
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.investbank.dealpipeline.reactive.handler;
+
+import com.investbank.dealpipeline.dto.request.CreateDealRequest;
+import com.investbank.dealpipeline.dto.request.UpdateDealRequest;
+import com.investbank.dealpipeline.dto.request.UpdateDealStageRequest;
+import com.investbank.dealpipeline.dto.response.DealResponse;
+import com.investbank.dealpipeline.dto.response.DealSummaryResponse;
+import com.investbank.dealpipeline.exception.BadRequestException;
+import com.investbank.dealpipeline.exception.PreconditionFailedException;
+import com.investbank.dealpipeline.model.Role;
+import com.investbank.dealpipeline.reactive.service.ReactiveDealService;
+import com.investbank.dealpipeline.security.AuthenticatedUser;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Functional counterpart of the servlet DealController for the endpoints routed in DealRoutes
+@Component
+@RequiredArgsConstructor
+public class DealHandler {
+
+    private static final String ROLE_ADMIN = "ROLE_" + Role.ADMIN.name();
+
+    private final ReactiveDealService dealService;
+    private final Validator validator;
+
+    public Mono<ServerResponse> createDeal(ServerRequest request) {
+        return request.bodyToMono(CreateDealRequest.class)
+                .switchIfEmpty(Mono.error(() -> new BadRequestException("Request body is required")))
+                .map(this::validate)
+                .zipWith(currentUserId())
+                .flatMap(tuple -> currentRole().flatMap(role -> dealService.createDeal(tuple.getT1(), tuple.getT2(), role)))
+                .flatMap(response -> ServerResponse.status(HttpStatus.CREATED).bodyValue(response));
+    }
+
+    public Mono<ServerResponse> getAllDeals(ServerRequest request) {
+        return currentRole()
+                .flatMap(role -> ServerResponse.ok().body(dealService.getAllDeals(role), DealResponse.class));
+    }
+
+    // Newline-delimited JSON written as the Mongo cursor yields, one deal per line
+    public Mono<ServerResponse> streamAllDeals(ServerRequest request) {
+        return currentRole()
+                .flatMap(role -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(dealService.getAllDeals(role), DealResponse.class));
+    }
+
+    public Mono<ServerResponse> getAllDealsSummary(ServerRequest request) {
+        return ServerResponse.ok().body(dealService.getAllDealsSummary(), DealSummaryResponse.class);
+    }
+
+    public Mono<ServerResponse> getDealsPage(ServerRequest request) {
+        String cursor = request.queryParam("cursor").orElse(null);
+
+        return Mono.fromCallable(() -> request.queryParam("size").map(this::parseSize).orElse(null))
+                .flatMap(size -> currentRole().flatMap(role -> dealService.getDealsPage(cursor, size, role)))
+                .flatMap(page -> ServerResponse.ok().bodyValue(page));
+    }
+
+    public Mono<ServerResponse> getDealById(ServerRequest request) {
+        return currentRole()
+                .flatMap(role -> dealService.getDealById(request.pathVariable("id"), role))
+                .flatMap(this::withETag);
+    }
+
+    public Mono<ServerResponse> updateDeal(ServerRequest request) {
+        String id = request.pathVariable("id");
+
+        return Mono.fromCallable(() -> new IfMatch(parseIfMatch(request)))
+                .flatMap(ifMatch -> request.bodyToMono(UpdateDealRequest.class)
+                        .switchIfEmpty(Mono.error(() -> new BadRequestException("Request body is required")))
+                        .flatMap(body -> currentRole().flatMap(role ->
+                                dealService.updateDeal(id, body, ifMatch.version(), role))))
+                .flatMap(this::withETag);
+    }
+
+    public Mono<ServerResponse> updateDealStage(ServerRequest request) {
+        String id = request.pathVariable("id");
+
+        return Mono.fromCallable(() -> new IfMatch(parseIfMatch(request)))
+                .flatMap(ifMatch -> request.bodyToMono(UpdateDealStageRequest.class)
+                        .switchIfEmpty(Mono.error(() -> new BadRequestException("Request body is required")))
+                        .map(this::validate)
+                        .flatMap(body -> currentRole().flatMap(role -> dealService.updateDealStage(
+                                id, body.getStage(), body.getExpectedStage(), ifMatch.version(), role))))
+                .flatMap(this::withETag);
+    }
+
+    public Mono<ServerResponse> deleteDeal(ServerRequest request) {
+        String id = request.pathVariable("id");
+
+        return Mono.fromCallable(() -> new IfMatch(parseIfMatch(request)))
+                .flatMap(ifMatch -> dealService.deleteDeal(id, ifMatch.version()))
+                .then(ServerResponse.noContent().build());
+    }
+
+    // Derived from the authority set by the JWT filter, so reads need no user lookup
+    private Mono<Role> currentRole() {
+        return currentAuthentication()
+                .map(authentication -> authentication.getAuthorities().stream()
+                        .anyMatch(authority -> ROLE_ADMIN.equals(authority.getAuthority())) ? Role.ADMIN : Role.USER);
+    }
+
+    // JwtAuthenticationWebFilter authenticates every request as an AuthenticatedUser, so the id needs no user read
+    private Mono<String> currentUserId() {
+        return currentAuthentication()
+                .map(authentication -> ((AuthenticatedUser) authentication.getPrincipal()).getId());
+    }
+
+    private Mono<Authentication> currentAuthentication() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication);
+    }
+
+    private <T> T validate(T body) {
+        Set<ConstraintViolation<T>> violations = validator.validate(body);
+        if (!violations.isEmpty()) {
+            throw new BadRequestException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return body;
+    }
+
+    private Integer parseSize(String size) {
+        try {
+            return Integer.valueOf(size);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Page size must be a number");
+        }
+    }
+
+    // The deal version doubles as a strong ETag so clients can send it back in If-Match
+    private Mono<ServerResponse> withETag(DealResponse response) {
+        if (response.getVersion() == null) {
+            return ServerResponse.ok().bodyValue(response);
+        }
+        return ServerResponse.ok().eTag(String.valueOf(response.getVersion())).bodyValue(response);
+    }
+
+    // Absent or "*" means unconditional; otherwise a single strong ETag as issued by withETag
+    private Long parseIfMatch(ServerRequest request) {
+        String ifMatch = request.headers().firstHeader(HttpHeaders.IF_MATCH);
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        // Weak comparison is not allowed for If-Match, so a weak tag can never match and the precondition fails
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException("A weak ETag cannot satisfy If-Match");
+        }
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new BadRequestException("If-Match must be a single strong ETag");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("If-Match must be a single strong ETag");
+        }
+    }
+
+    // A Mono cannot carry null, so an unconditional write is wrapped rather than left empty
+    private record IfMatch(Long version) {
+    }
+}
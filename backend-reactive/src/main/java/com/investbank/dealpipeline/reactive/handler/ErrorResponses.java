@@ -0,0 +1,52 @@
+package com.investbank.dealpipeline.reactive.handler;
+
+import com.investbank.dealpipeline.dto.response.ErrorResponse;
+import com.investbank.dealpipeline.exception.BadRequestException;
+import com.investbank.dealpipeline.exception.ConflictException;
+import com.investbank.dealpipeline.exception.PreconditionFailedException;
+import com.investbank.dealpipeline.exception.ResourceNotFoundException;
+import com.investbank.dealpipeline.exception.UnauthorizedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+// The servlet GlobalExceptionHandler's status mapping and ErrorResponse body, applied to the functional routes
+@Slf4j
+public class ErrorResponses implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        return next.handle(request)
+                .onErrorResume(ResourceNotFoundException.class, ex -> error(request, HttpStatus.NOT_FOUND, ex.getMessage()))
+                .onErrorResume(BadRequestException.class, ex -> error(request, HttpStatus.BAD_REQUEST, ex.getMessage()))
+                .onErrorResume(ServerWebInputException.class, ex -> error(request, HttpStatus.BAD_REQUEST, ex.getReason()))
+                .onErrorResume(ConflictException.class, ex -> error(request, HttpStatus.CONFLICT, ex.getMessage()))
+                .onErrorResume(PreconditionFailedException.class,
+                        ex -> error(request, HttpStatus.PRECONDITION_FAILED, ex.getMessage()))
+                .onErrorResume(UnauthorizedException.class, ex -> error(request, HttpStatus.UNAUTHORIZED, ex.getMessage()))
+                // Unknown users are reported like wrong passwords, as DaoAuthenticationProvider does on the servlet side
+                .onErrorResume(ex -> ex instanceof BadCredentialsException || ex instanceof UsernameNotFoundException,
+                        ex -> error(request, HttpStatus.UNAUTHORIZED, "Invalid username or password"));
+    }
+
+    private Mono<ServerResponse> error(ServerRequest request, HttpStatus status, String message) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.path())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ServerResponse.status(status).bodyValue(error);
+    }
+}
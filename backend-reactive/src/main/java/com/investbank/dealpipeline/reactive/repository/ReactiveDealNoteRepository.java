@@ -0,0 +1,17 @@
+package com.investbank.dealpipeline.reactive.repository;
+
+import com.investbank.dealpipeline.model.DealNote;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveDealNoteRepository extends ReactiveMongoRepository<DealNote, String> {
+
+    // Pass a Pageable sorted by (timestamp desc, _id desc) to use the {dealId: 1, timestamp: -1, _id: -1} index
+    Flux<DealNote> findByDealId(String dealId, Pageable pageable);
+
+    Mono<Long> deleteByDealId(String dealId);
+}
@@ -0,0 +1,9 @@
+package com.investbank.dealpipeline.reactive.repository;
+
+import com.investbank.dealpipeline.model.Deal;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveDealRepository extends ReactiveMongoRepository<Deal, String>, ReactiveDealRepositoryCustom {
+}
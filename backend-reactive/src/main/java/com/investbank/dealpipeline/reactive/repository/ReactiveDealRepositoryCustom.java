@@ -0,0 +1,33 @@
+package com.investbank.dealpipeline.reactive.repository;
+
+import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.model.DealStage;
+import com.investbank.dealpipeline.util.KeysetCursor;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+// Reactive counterparts of the DealRepositoryCustom queries behind the servlet DealService, with the same
+// read routing: lists go through SecondaryReads, anything that must see a preceding write stays on the primary
+public interface ReactiveDealRepositoryCustom {
+
+    // Every deal, emitted as the cursor is read. Secondary read.
+    Flux<Deal> findAllForListing();
+
+    // Newest-first keyset page; a null cursor starts from the most recently updated deal. Secondary read.
+    Flux<Deal> findPage(KeysetCursor after, int limit);
+
+    // Only the fields DealSummaryResponse needs
+    Flux<Deal> findAllSummaries();
+
+    // Empty if the deal is missing or, with a non-null expectedVersion, was modified since
+    Mono<Deal> updateAndGet(String id, Long expectedVersion, Update update);
+
+    // Returns the pre-image; empty if the deal is missing or failed the stage/version guards
+    Mono<Deal> transitionStage(String id, DealStage expectedStage, Long expectedVersion,
+                               DealStage stage, LocalDateTime updatedAt);
+
+    Mono<Boolean> removeById(String id, Long expectedVersion);
+}
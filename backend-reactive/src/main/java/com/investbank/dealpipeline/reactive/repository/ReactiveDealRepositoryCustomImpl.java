@@ -0,0 +1,103 @@
+package com.investbank.dealpipeline.reactive.repository;
+
+import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.model.DealStage;
+import com.investbank.dealpipeline.repository.SecondaryReads;
+import com.investbank.dealpipeline.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+public class ReactiveDealRepositoryCustomImpl implements ReactiveDealRepositoryCustom {
+
+    private static final Sort PAGE_SORT = Sort.by(Sort.Direction.DESC, "updatedAt")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
+    private static final String[] SUMMARY_FIELDS = {
+            "clientName", "dealType", "sector", "currentStage", "summary", "assignedTo", "updatedAt", "version"
+    };
+
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final SecondaryReads secondaryReads;
+
+    @Override
+    public Flux<Deal> findAllForListing() {
+        return mongoTemplate.find(secondaryReads.apply(new Query().cursorBatchSize(STREAM_BATCH_SIZE)), Deal.class);
+    }
+
+    @Override
+    public Flux<Deal> findPage(KeysetCursor after, int limit) {
+        Query query = new Query(afterCursor(after))
+                .with(PAGE_SORT)
+                .limit(limit);
+
+        return mongoTemplate.find(secondaryReads.apply(query), Deal.class);
+    }
+
+    @Override
+    public Flux<Deal> findAllSummaries() {
+        Query query = new Query();
+        query.fields().include(SUMMARY_FIELDS);
+
+        return mongoTemplate.find(query, Deal.class);
+    }
+
+    // ReactiveMongoTemplate bumps the @Version field on every update against Deal, as MongoTemplate does
+    @Override
+    public Mono<Deal> updateAndGet(String id, Long expectedVersion, Update update) {
+        return mongoTemplate.findAndModify(
+                byIdAndVersion(id, expectedVersion), update, FindAndModifyOptions.options().returnNew(true), Deal.class);
+    }
+
+    @Override
+    public Mono<Deal> transitionStage(String id, DealStage expectedStage, Long expectedVersion,
+                                      DealStage stage, LocalDateTime updatedAt) {
+        Query query = byIdAndVersion(id, expectedVersion);
+        if (expectedStage != null) {
+            query.addCriteria(Criteria.where("currentStage").is(expectedStage));
+        }
+        Update update = new Update()
+                .set("currentStage", stage)
+                .set("updatedAt", updatedAt);
+
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(false), Deal.class);
+    }
+
+    @Override
+    public Mono<Boolean> removeById(String id, Long expectedVersion) {
+        return mongoTemplate.remove(byIdAndVersion(id, expectedVersion), Deal.class)
+                .map(result -> result.getDeletedCount() > 0);
+    }
+
+    private Query byIdAndVersion(String id, Long expectedVersion) {
+        Criteria criteria = Criteria.where("id").is(id);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+
+        return new Query(criteria);
+    }
+
+    // Range predicate that lines up with the {updatedAt: -1, _id: -1} compound index
+    private Criteria afterCursor(KeysetCursor after) {
+        if (after == null) {
+            return new Criteria();
+        }
+
+        return new Criteria().orOperator(
+                Criteria.where("updatedAt").lt(after.getTimestamp()),
+                Criteria.where("updatedAt").is(after.getTimestamp()).and("id").lt(after.getId())
+        );
+    }
+}
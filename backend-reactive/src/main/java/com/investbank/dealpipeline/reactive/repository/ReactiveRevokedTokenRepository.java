@@ -0,0 +1,15 @@
+package com.investbank.dealpipeline.reactive.repository;
+
+import com.investbank.dealpipeline.model.RevokedToken;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+// Read-only here: tokens are revoked through the servlet backend's logout
+@Repository
+public interface ReactiveRevokedTokenRepository extends ReactiveMongoRepository<RevokedToken, String> {
+
+    Flux<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+}
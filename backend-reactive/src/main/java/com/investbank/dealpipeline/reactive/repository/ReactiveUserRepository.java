@@ -0,0 +1,18 @@
+package com.investbank.dealpipeline.reactive.repository;
+
+import com.investbank.dealpipeline.model.User;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+
+    Mono<User> findByUsername(String username);
+
+    // Id and tokenEpoch of every user whose epoch has been advanced, read from the primary
+    @Query(value = "{ 'tokenEpoch': { '$gt': 0 } }", fields = "{ 'tokenEpoch': 1 }")
+    Flux<User> findAdvancedTokenEpochs();
+}
@@ -0,0 +1,78 @@
+package com.investbank.dealpipeline.reactive.security;
+
+import com.investbank.dealpipeline.security.AuthenticatedUser;
+import com.investbank.dealpipeline.security.JwtTokenProvider;
+import com.investbank.dealpipeline.security.RevokedTokens;
+import com.investbank.dealpipeline.security.TokenEpochs;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+// WebFilter port of the servlet JwtAuthenticationFilter: a valid bearer token authenticates the request as the
+// principal its claims carry; a missing, bad or revoked token leaves it anonymous for the authorization rules to
+// reject. Not a bean, so WebFlux does not also run it outside the security chain.
+@RequiredArgsConstructor
+@Slf4j
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ReactiveUserDetailsServiceImpl userDetailsService;
+    private final TokenEpochs tokenEpochs;
+    private final RevokedTokens revokedTokens;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String jwt = getJwtFromRequest(exchange);
+        // Signature and revocation checks only use the CPU and memory, so they run on the event loop
+        Claims claims = StringUtils.hasText(jwt) ? jwtTokenProvider.getValidatedClaims(jwt) : null;
+        if (claims == null) {
+            return chain.filter(exchange);
+        }
+        if (revokedTokens.isRevoked(claims.getId())) {
+            log.debug("Rejected revoked token {}", claims.getId());
+            return chain.filter(exchange);
+        }
+
+        AuthenticatedUser user = jwtTokenProvider.getAuthenticatedUser(claims);
+        if (user != null) {
+            if (!tokenEpochs.isCurrent(user.getId(), user.getTokenEpoch())) {
+                log.debug("Rejected revoked token for user {}", user.getUsername());
+                return chain.filter(exchange);
+            }
+            return chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(
+                    new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())));
+        }
+
+        // Tokens issued before the claims were added fall back to reading the user, which rejects deactivated ones
+        return userDetailsService.findByUsername(claims.getSubject())
+                .map(userDetails -> new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities()))
+                .doOnError(ex -> log.error("Could not set user authentication in security context: {}", ex.getMessage()))
+                .onErrorResume(ex -> Mono.empty())
+                .flatMap(authentication -> chain.filter(exchange)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication))
+                        .thenReturn(true))
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(true)))
+                .then();
+    }
+
+    private String getJwtFromRequest(ServerWebExchange exchange) {
+        String bearerToken = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER_PREFIX)) {
+            return bearerToken.substring(BEARER_PREFIX.length());
+        }
+
+        return null;
+    }
+}
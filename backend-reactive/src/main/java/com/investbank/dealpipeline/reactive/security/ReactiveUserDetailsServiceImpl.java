@@ -0,0 +1,37 @@
+package com.investbank.dealpipeline.reactive.security;
+
+import com.investbank.dealpipeline.reactive.repository.ReactiveUserRepository;
+import com.investbank.dealpipeline.security.AuthenticatedUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+// Same accounts and principal as the servlet UserDetailsServiceImpl, so tokens issued here carry the same claims
+@Service
+@RequiredArgsConstructor
+public class ReactiveUserDetailsServiceImpl implements ReactiveUserDetailsService {
+
+    private final ReactiveUserRepository userRepository;
+
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return userRepository.findByUsername(username)
+                .switchIfEmpty(Mono.error(() -> new UsernameNotFoundException("User not found: " + username)))
+                .flatMap(user -> {
+                    if (!user.isActive()) {
+                        return Mono.error(new UsernameNotFoundException("User account is deactivated"));
+                    }
+                    return Mono.just(AuthenticatedUser.builder()
+                            .id(user.getId())
+                            .username(user.getUsername())
+                            .password(user.getPassword())
+                            .role(user.getRole())
+                            .active(user.isActive())
+                            .tokenEpoch(user.getTokenEpoch())
+                            .build());
+                });
+    }
+}
@@ -0,0 +1,284 @@
+package com.investbank.dealpipeline.reactive.service;
+
+import com.investbank.dealpipeline.dto.event.DealCreatedEvent;
+import com.investbank.dealpipeline.dto.event.DealStageUpdatedEvent;
+import com.investbank.dealpipeline.dto.event.DealUpdatedEvent;
+import com.investbank.dealpipeline.dto.request.CreateDealRequest;
+import com.investbank.dealpipeline.dto.request.UpdateDealRequest;
+import com.investbank.dealpipeline.dto.response.CursorPageResponse;
+import com.investbank.dealpipeline.dto.response.DealResponse;
+import com.investbank.dealpipeline.dto.response.DealSummaryResponse;
+import com.investbank.dealpipeline.exception.BadRequestException;
+import com.investbank.dealpipeline.exception.ConflictException;
+import com.investbank.dealpipeline.exception.PreconditionFailedException;
+import com.investbank.dealpipeline.exception.ResourceNotFoundException;
+import com.investbank.dealpipeline.mapper.DealMapper;
+import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.model.DealStage;
+import com.investbank.dealpipeline.model.Note;
+import com.investbank.dealpipeline.model.Role;
+import com.investbank.dealpipeline.reactive.repository.ReactiveDealNoteRepository;
+import com.investbank.dealpipeline.reactive.repository.ReactiveDealRepository;
+import com.investbank.dealpipeline.service.KafkaProducerService;
+import com.investbank.dealpipeline.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Non-blocking port of the servlet DealService for the endpoints routed in DealRoutes. Writes publish the same
+// events, so the servlet replicas evict their deal caches and summary snapshots for changes made here.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveDealService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int NOTE_PREVIEW_SIZE = 20;
+
+    private static final Sort NOTE_SORT = Sort.by(Sort.Direction.DESC, "timestamp")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
+    private final ReactiveDealRepository dealRepository;
+    private final ReactiveDealNoteRepository dealNoteRepository;
+    private final DealMapper dealMapper;
+    private final KafkaProducerService kafkaProducerService;
+
+    public Mono<DealResponse> createDeal(CreateDealRequest request, String userId, Role userRole) {
+        log.debug("Creating new deal for client: {}", request.getClientName());
+
+        Deal deal = Deal.builder()
+                .clientName(request.getClientName())
+                .dealType(request.getDealType())
+                .sector(request.getSector())
+                .dealValue(request.getDealValue())
+                .currentStage(request.getCurrentStage())
+                .summary(request.getSummary())
+                .createdBy(userId)
+                .assignedTo(request.getAssignedTo() != null ? request.getAssignedTo() : userId)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        return dealRepository.save(deal)
+                .flatMap(saved -> publish(() -> kafkaProducerService.publishDealCreatedEvent(dealCreatedEvent(saved)))
+                        .thenReturn(dealMapper.toResponse(saved, userRole)));
+    }
+
+    public Flux<DealResponse> getAllDeals(Role userRole) {
+        return dealRepository.findAllForListing()
+                .map(deal -> dealMapper.toResponse(deal, userRole));
+    }
+
+    public Flux<DealSummaryResponse> getAllDealsSummary() {
+        return dealRepository.findAllSummaries()
+                .map(dealMapper::toSummaryResponse);
+    }
+
+    public Mono<CursorPageResponse<DealResponse>> getDealsPage(String cursor, Integer size, Role userRole) {
+        log.debug("Fetching deals page after cursor: {}", cursor);
+
+        return Mono.fromCallable(() -> resolvePageSize(size))
+                .flatMap(pageSize -> dealRepository.findPage(decodeCursor(cursor), pageSize + 1)
+                        .collectList()
+                        .map(deals -> toPage(deals, pageSize, userRole)));
+    }
+
+    public Mono<DealResponse> getDealById(String id, Role userRole) {
+        log.debug("Fetching deal by ID: {}", id);
+
+        return dealRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Deal not found with id: " + id)))
+                .flatMap(deal -> toDetailResponse(deal, userRole));
+    }
+
+    // Only the non-null request fields are $set, as in the servlet DealService
+    public Mono<DealResponse> updateDeal(String id, UpdateDealRequest request, Long expectedVersion, Role userRole) {
+        log.debug("Updating deal: {}", id);
+
+        Update update = new Update();
+        if (request.getClientName() != null) {
+            update.set("clientName", request.getClientName());
+        }
+        if (request.getDealType() != null) {
+            update.set("dealType", request.getDealType());
+        }
+        if (request.getSector() != null) {
+            update.set("sector", request.getSector());
+        }
+        if (request.getSummary() != null) {
+            update.set("summary", request.getSummary());
+        }
+        if (request.getAssignedTo() != null) {
+            update.set("assignedTo", request.getAssignedTo());
+        }
+        update.set("updatedAt", LocalDateTime.now());
+
+        return dealRepository.updateAndGet(id, expectedVersion, update)
+                .switchIfEmpty(Mono.defer(() -> writeRejected(id, expectedVersion)))
+                .flatMap(updated -> dealChanged(id, "DEAL_UPDATED", updated.getVersion())
+                        .then(toDetailResponse(updated, userRole)));
+    }
+
+    public Mono<DealResponse> updateDealStage(String id, DealStage stage, DealStage expectedStage,
+                                              Long expectedVersion, Role userRole) {
+        log.debug("Updating deal stage: {} to {}", id, stage);
+
+        LocalDateTime now = LocalDateTime.now();
+        return dealRepository.transitionStage(id, expectedStage, expectedVersion, stage, now)
+                .switchIfEmpty(Mono.defer(() -> stageTransitionRejected(id, expectedStage, expectedVersion)))
+                .flatMap(deal -> {
+                    DealStage previousStage = deal.getCurrentStage();
+                    Deal updated = deal.toBuilder()
+                            .currentStage(stage)
+                            .updatedAt(now)
+                            .version(deal.getVersion() != null ? deal.getVersion() + 1 : 1L)
+                            .build();
+                    return publish(() -> kafkaProducerService.publishDealStageUpdatedEvent(
+                                    stageUpdatedEvent(updated, previousStage, stage)))
+                            .then(toDetailResponse(updated, userRole));
+                });
+    }
+
+    public Mono<Void> deleteDeal(String id, Long expectedVersion) {
+        log.debug("Deleting deal: {}", id);
+
+        return dealRepository.removeById(id, expectedVersion)
+                .flatMap(removed -> removed
+                        ? dealNoteRepository.deleteByDealId(id).then(dealChanged(id, "DEAL_DELETED", null))
+                        : writeRejected(id, expectedVersion).then());
+    }
+
+    // Single-deal responses carry the notes preview, as in the servlet DealService
+    private Mono<DealResponse> toDetailResponse(Deal deal, Role userRole) {
+        return latestNotes(deal).map(notes -> {
+            DealResponse response = dealMapper.toResponse(deal, userRole);
+            response.setNotes(notes);
+            return response;
+        });
+    }
+
+    private Mono<List<Note>> latestNotes(Deal deal) {
+        if (deal.getNoteCount() == 0) {
+            return Mono.just(Collections.emptyList());
+        }
+
+        // Newest first from the index, returned oldest first like the timeline renders them
+        return dealNoteRepository.findByDealId(deal.getId(), PageRequest.of(0, NOTE_PREVIEW_SIZE, NOTE_SORT))
+                .map(dealMapper::toNote)
+                .collectList()
+                .map(notes -> {
+                    Collections.reverse(notes);
+                    return notes;
+                });
+    }
+
+    private <T> Mono<T> writeRejected(String id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.error(new ResourceNotFoundException("Deal not found with id: " + id));
+        }
+        return dealRepository.existsById(id)
+                .flatMap(exists -> Mono.error(exists
+                        ? new PreconditionFailedException("Deal " + id + " has been modified since version " + expectedVersion)
+                        : new ResourceNotFoundException("Deal not found with id: " + id)));
+    }
+
+    private Mono<Deal> stageTransitionRejected(String id, DealStage expectedStage, Long expectedVersion) {
+        return dealRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Deal not found with id: " + id)))
+                .flatMap(current -> {
+                    if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                        return Mono.error(new PreconditionFailedException(
+                                "Deal " + id + " has been modified since version " + expectedVersion));
+                    }
+                    return Mono.error(new ConflictException("Deal " + id + " is in stage " + current.getCurrentStage()
+                            + ", expected " + expectedStage));
+                });
+    }
+
+    private Mono<Void> dealChanged(String id, String eventType, Long version) {
+        return publish(() -> kafkaProducerService.publishDealUpdatedEvent(DealUpdatedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(eventType)
+                .timestamp(LocalDateTime.now())
+                .dealId(id)
+                .version(version)
+                .build()));
+    }
+
+    // KafkaTemplate.send can block on a metadata fetch (up to max.block.ms), so it is kept off the event loop.
+    // As in the servlet build, the request does not wait for the broker's acknowledgement.
+    private Mono<Void> publish(Runnable send) {
+        return Mono.fromRunnable(send)
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private DealCreatedEvent dealCreatedEvent(Deal deal) {
+        return DealCreatedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType("DEAL_CREATED")
+                .timestamp(LocalDateTime.now())
+                .dealId(deal.getId())
+                .clientName(deal.getClientName())
+                .dealType(deal.getDealType())
+                .sector(deal.getSector())
+                .dealValue(deal.getDealValue())
+                .currentStage(deal.getCurrentStage().name())
+                .summary(deal.getSummary())
+                .createdBy(deal.getCreatedBy())
+                .assignedTo(deal.getAssignedTo())
+                .build();
+    }
+
+    private DealStageUpdatedEvent stageUpdatedEvent(Deal deal, DealStage previousStage, DealStage newStage) {
+        return DealStageUpdatedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType("DEAL_STAGE_UPDATED")
+                .timestamp(LocalDateTime.now())
+                .dealId(deal.getId())
+                .clientName(deal.getClientName())
+                .previousStage(previousStage.name())
+                .newStage(newStage.name())
+                .updatedBy("system")
+                .build();
+    }
+
+    // The query reads one row past the page size so the extra row signals whether another page exists
+    private CursorPageResponse<DealResponse> toPage(List<Deal> rows, int pageSize, Role userRole) {
+        boolean hasMore = rows.size() > pageSize;
+        List<Deal> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+
+        return CursorPageResponse.<DealResponse>builder()
+                .items(pageRows.stream().map(deal -> dealMapper.toResponse(deal, userRole)).collect(Collectors.toList()))
+                .size(pageRows.size())
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? KeysetCursor.of(pageRows.get(pageRows.size() - 1)).encode() : null)
+                .build();
+    }
+
+    private KeysetCursor decodeCursor(String cursor) {
+        return cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+}
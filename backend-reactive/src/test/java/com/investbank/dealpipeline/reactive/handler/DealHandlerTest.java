@@ -0,0 +1,175 @@
+package com.investbank.dealpipeline.reactive.handler;
+
+import com.investbank.dealpipeline.dto.request.UpdateDealRequest;
+import com.investbank.dealpipeline.dto.response.DealResponse;
+import com.investbank.dealpipeline.exception.PreconditionFailedException;
+import com.investbank.dealpipeline.exception.ResourceNotFoundException;
+import com.investbank.dealpipeline.model.DealStage;
+import com.investbank.dealpipeline.model.Role;
+import com.investbank.dealpipeline.reactive.config.DealRoutes;
+import com.investbank.dealpipeline.reactive.service.ReactiveDealService;
+import com.investbank.dealpipeline.security.AuthenticatedUser;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealHandlerTest {
+
+    @Mock
+    private ReactiveDealService dealService;
+
+    private WebTestClient webTestClient;
+
+    private DealResponse dealResponse;
+
+    @BeforeEach
+    void setUp() {
+        DealHandler dealHandler = new DealHandler(dealService, Validation.buildDefaultValidatorFactory().getValidator());
+        AuthenticatedUser user = AuthenticatedUser.builder()
+                .id("user123")
+                .username("testuser")
+                .role(Role.ADMIN)
+                .active(true)
+                .build();
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                user, null, user.getAuthorities());
+
+        // Stands in for the JWT filter of the security chain
+        webTestClient = WebTestClient.bindToRouterFunction(new DealRoutes().dealRouter(dealHandler))
+                .webFilter((exchange, chain) -> chain.filter(exchange)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication)))
+                .build();
+
+        dealResponse = DealResponse.builder()
+                .id("deal123")
+                .clientName("Acme Corp")
+                .dealType("M&A")
+                .sector("Technology")
+                .dealValue(1000000L)
+                .currentStage(DealStage.Prospect)
+                .version(3L)
+                .build();
+    }
+
+    @Test
+    void shouldCreateDealAsTokenPrincipalWithoutReadingTheUser() {
+        when(dealService.createDeal(any(), eq("user123"), eq(Role.ADMIN))).thenReturn(Mono.just(dealResponse));
+
+        webTestClient.post().uri("/api/deals")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"clientName\":\"Acme Corp\",\"dealType\":\"M&A\",\"sector\":\"Technology\","
+                        + "\"dealValue\":1000000,\"currentStage\":\"Prospect\"}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("deal123");
+
+        // The id comes from the token's principal; DealHandler has no user repository to read
+        verify(dealService).createDeal(any(), eq("user123"), eq(Role.ADMIN));
+        verifyNoMoreInteractions(dealService);
+    }
+
+    @Test
+    void shouldRejectInvalidCreateRequest() {
+        webTestClient.post().uri("/api/deals")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"dealType\":\"M&A\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.path").isEqualTo("/api/deals");
+
+        verifyNoInteractions(dealService);
+    }
+
+    @Test
+    void shouldGetDealByIdWithETag() {
+        when(dealService.getDealById("deal123", Role.ADMIN)).thenReturn(Mono.just(dealResponse));
+
+        webTestClient.get().uri("/api/deals/deal123")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody()
+                .jsonPath("$.dealValue").isEqualTo(1000000);
+    }
+
+    @Test
+    void shouldReturnNotFoundForMissingDeal() {
+        when(dealService.getDealById("missing", Role.ADMIN))
+                .thenReturn(Mono.error(new ResourceNotFoundException("Deal not found with id: missing")));
+
+        webTestClient.get().uri("/api/deals/missing")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Deal not found with id: missing");
+    }
+
+    @Test
+    void shouldStreamDealsAsNdjson() {
+        when(dealService.getAllDeals(Role.ADMIN)).thenReturn(Flux.just(dealResponse, dealResponse));
+
+        webTestClient.get().uri("/api/deals/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(DealResponse.class).hasSize(2);
+    }
+
+    @Test
+    void shouldPassIfMatchVersionToUpdate() {
+        when(dealService.updateDeal(eq("deal123"), any(UpdateDealRequest.class), eq(3L), eq(Role.ADMIN)))
+                .thenReturn(Mono.error(new PreconditionFailedException("Deal deal123 has been modified since version 3")));
+
+        webTestClient.put().uri("/api/deals/deal123")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"clientName\":\"New\"}")
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void shouldRejectWeakIfMatch() {
+        webTestClient.patch().uri("/api/deals/deal123/stage")
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"stage\":\"UnderEvaluation\"}")
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("A weak ETag cannot satisfy If-Match");
+
+        verifyNoInteractions(dealService);
+    }
+
+    @Test
+    void shouldDeleteDealUnconditionally() {
+        when(dealService.deleteDeal(eq("deal123"), isNull())).thenReturn(Mono.empty());
+
+        webTestClient.delete().uri("/api/deals/deal123")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(dealService).deleteDeal("deal123", null);
+    }
+}
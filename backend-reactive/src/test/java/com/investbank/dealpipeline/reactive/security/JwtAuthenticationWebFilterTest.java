@@ -0,0 +1,180 @@
+package com.investbank.dealpipeline.reactive.security;
+
+import com.investbank.dealpipeline.model.Role;
+import com.investbank.dealpipeline.security.AuthenticatedUser;
+import com.investbank.dealpipeline.security.JwtTokenProvider;
+import com.investbank.dealpipeline.security.RevokedTokens;
+import com.investbank.dealpipeline.security.TokenEpochs;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationWebFilterTest {
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Mock
+    private ReactiveUserDetailsServiceImpl userDetailsService;
+
+    @Mock
+    private TokenEpochs tokenEpochs;
+
+    @Mock
+    private RevokedTokens revokedTokens;
+
+    @Mock
+    private Claims claims;
+
+    private JwtAuthenticationWebFilter filter;
+
+    private final AtomicInteger chainCalls = new AtomicInteger();
+    private final AtomicReference<Authentication> seen = new AtomicReference<>();
+
+    // Records the authentication visible downstream, as the authorization filter would see it
+    private final WebFilterChain chain = exchange -> ReactiveSecurityContextHolder.getContext()
+            .map(SecurityContext::getAuthentication)
+            .doOnNext(seen::set)
+            .then(Mono.fromRunnable(chainCalls::incrementAndGet));
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthenticationWebFilter(jwtTokenProvider, userDetailsService, tokenEpochs, revokedTokens);
+    }
+
+    @Test
+    void shouldAuthenticateFromTokenClaimsWithoutUserLookup() {
+        AuthenticatedUser user = AuthenticatedUser.builder()
+                .id("user123")
+                .username("testuser")
+                .role(Role.USER)
+                .active(true)
+                .tokenEpoch(1L)
+                .build();
+        when(jwtTokenProvider.getValidatedClaims("valid.jwt.token")).thenReturn(claims);
+        when(jwtTokenProvider.getAuthenticatedUser(claims)).thenReturn(user);
+        when(tokenEpochs.isCurrent("user123", 1L)).thenReturn(true);
+
+        StepVerifier.create(filter.filter(exchangeWithToken("Bearer valid.jwt.token"), chain))
+                .verifyComplete();
+
+        assertEquals(1, chainCalls.get());
+        assertSame(user, seen.get().getPrincipal());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void shouldContinueAnonymouslyWithTokenFromAnEarlierEpoch() {
+        AuthenticatedUser user = AuthenticatedUser.builder()
+                .id("user123")
+                .username("testuser")
+                .role(Role.USER)
+                .active(true)
+                .tokenEpoch(0L)
+                .build();
+        when(jwtTokenProvider.getValidatedClaims("valid.jwt.token")).thenReturn(claims);
+        when(jwtTokenProvider.getAuthenticatedUser(claims)).thenReturn(user);
+        when(tokenEpochs.isCurrent("user123", 0L)).thenReturn(false);
+
+        StepVerifier.create(filter.filter(exchangeWithToken("Bearer valid.jwt.token"), chain))
+                .verifyComplete();
+
+        assertEquals(1, chainCalls.get());
+        assertNull(seen.get());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void shouldReadTheUserForTokenWithoutClaims() {
+        when(jwtTokenProvider.getValidatedClaims("valid.jwt.token")).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("testuser");
+        when(userDetailsService.findByUsername("testuser")).thenReturn(Mono.just(User.withUsername("testuser")
+                .password("secret")
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_USER")))
+                .build()));
+
+        StepVerifier.create(filter.filter(exchangeWithToken("Bearer valid.jwt.token"), chain))
+                .verifyComplete();
+
+        assertEquals(1, chainCalls.get());
+        assertEquals("testuser", seen.get().getName());
+        assertTrue(seen.get().isAuthenticated());
+    }
+
+    @Test
+    void shouldContinueAnonymouslyWithInvalidToken() {
+        when(jwtTokenProvider.getValidatedClaims("bad.jwt.token")).thenReturn(null);
+
+        StepVerifier.create(filter.filter(exchangeWithToken("Bearer bad.jwt.token"), chain))
+                .verifyComplete();
+
+        assertEquals(1, chainCalls.get());
+        assertNull(seen.get());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void shouldContinueAnonymouslyWithRevokedToken() {
+        when(jwtTokenProvider.getValidatedClaims("revoked.jwt.token")).thenReturn(claims);
+        when(claims.getId()).thenReturn("token123");
+        when(revokedTokens.isRevoked("token123")).thenReturn(true);
+
+        StepVerifier.create(filter.filter(exchangeWithToken("Bearer revoked.jwt.token"), chain))
+                .verifyComplete();
+
+        assertEquals(1, chainCalls.get());
+        assertNull(seen.get());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void shouldContinueAnonymouslyWhenUserLookupFails() {
+        when(jwtTokenProvider.getValidatedClaims("valid.jwt.token")).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("deactivated");
+        when(userDetailsService.findByUsername("deactivated"))
+                .thenReturn(Mono.error(new UsernameNotFoundException("User account is deactivated")));
+
+        StepVerifier.create(filter.filter(exchangeWithToken("Bearer valid.jwt.token"), chain))
+                .verifyComplete();
+
+        assertEquals(1, chainCalls.get());
+        assertNull(seen.get());
+    }
+
+    @Test
+    void shouldIgnoreNonBearerAuthorization() {
+        StepVerifier.create(filter.filter(exchangeWithToken("Basic dXNlcjpwYXNz"), chain))
+                .verifyComplete();
+
+        assertEquals(1, chainCalls.get());
+        verifyNoInteractions(jwtTokenProvider, userDetailsService);
+    }
+
+    private MockServerWebExchange exchangeWithToken(String authorization) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/deals")
+                .header(HttpHeaders.AUTHORIZATION, authorization));
+    }
+}
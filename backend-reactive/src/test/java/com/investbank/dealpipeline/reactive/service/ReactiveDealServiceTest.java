@@ -0,0 +1,229 @@
+package com.investbank.dealpipeline.reactive.service;
+
+import com.investbank.dealpipeline.dto.event.DealStageUpdatedEvent;
+import com.investbank.dealpipeline.dto.event.DealUpdatedEvent;
+import com.investbank.dealpipeline.dto.request.CreateDealRequest;
+import com.investbank.dealpipeline.dto.request.UpdateDealRequest;
+import com.investbank.dealpipeline.exception.BadRequestException;
+import com.investbank.dealpipeline.exception.ConflictException;
+import com.investbank.dealpipeline.exception.PreconditionFailedException;
+import com.investbank.dealpipeline.exception.ResourceNotFoundException;
+import com.investbank.dealpipeline.mapper.DealMapper;
+import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.model.DealNote;
+import com.investbank.dealpipeline.model.DealStage;
+import com.investbank.dealpipeline.model.Role;
+import com.investbank.dealpipeline.reactive.repository.ReactiveDealNoteRepository;
+import com.investbank.dealpipeline.reactive.repository.ReactiveDealRepository;
+import com.investbank.dealpipeline.service.KafkaProducerService;
+import com.investbank.dealpipeline.util.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveDealServiceTest {
+
+    @Mock
+    private ReactiveDealRepository dealRepository;
+
+    @Mock
+    private ReactiveDealNoteRepository dealNoteRepository;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    @Spy
+    private DealMapper dealMapper = new DealMapper();
+
+    @InjectMocks
+    private ReactiveDealService dealService;
+
+    private Deal deal;
+
+    @BeforeEach
+    void setUp() {
+        deal = Deal.builder()
+                .id("deal123")
+                .clientName("Acme Corp")
+                .dealType("M&A")
+                .sector("Technology")
+                .dealValue(1000000L)
+                .currentStage(DealStage.Prospect)
+                .summary("Test deal")
+                .createdBy("user123")
+                .assignedTo("user123")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .version(3L)
+                .build();
+    }
+
+    @Test
+    void createDeal_SavesAndPublishesEvent() {
+        CreateDealRequest request = CreateDealRequest.builder()
+                .clientName("Acme Corp")
+                .dealType("M&A")
+                .sector("Technology")
+                .dealValue(1000000L)
+                .currentStage(DealStage.Prospect)
+                .build();
+        when(dealRepository.save(any(Deal.class))).thenReturn(Mono.just(deal));
+
+        StepVerifier.create(dealService.createDeal(request, "user123", Role.USER))
+                .assertNext(response -> assertEquals("deal123", response.getId()))
+                .verifyComplete();
+
+        verify(kafkaProducerService).publishDealCreatedEvent(any());
+    }
+
+    @Test
+    void getDealById_NotFound() {
+        when(dealRepository.findById("missing")).thenReturn(Mono.empty());
+
+        StepVerifier.create(dealService.getDealById("missing", Role.ADMIN))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void getDealById_ReturnsLatestNotesOldestFirst() {
+        Deal withNotes = deal.toBuilder().noteCount(2L).build();
+        LocalDateTime now = LocalDateTime.now();
+        when(dealRepository.findById("deal123")).thenReturn(Mono.just(withNotes));
+        when(dealNoteRepository.findByDealId(eq("deal123"), any(Pageable.class))).thenReturn(Flux.just(
+                DealNote.builder().dealId("deal123").userId("user123").note("second").timestamp(now).build(),
+                DealNote.builder().dealId("deal123").userId("user123").note("first").timestamp(now.minusHours(1)).build()));
+
+        StepVerifier.create(dealService.getDealById("deal123", Role.ADMIN))
+                .assertNext(response -> {
+                    assertEquals(2, response.getNotes().size());
+                    assertEquals("first", response.getNotes().get(0).getNote());
+                    assertEquals(1000000L, response.getDealValue());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getDealsPage_ReadsOnePastPageSize() {
+        Deal older = deal.toBuilder().id("deal122").updatedAt(deal.getUpdatedAt().minusMinutes(1)).build();
+        Deal oldest = deal.toBuilder().id("deal121").updatedAt(deal.getUpdatedAt().minusMinutes(2)).build();
+        when(dealRepository.findPage(isNull(), eq(3))).thenReturn(Flux.just(deal, older, oldest));
+
+        StepVerifier.create(dealService.getDealsPage(null, 2, Role.USER))
+                .assertNext(page -> {
+                    assertEquals(2, page.getSize());
+                    assertTrue(page.isHasMore());
+                    assertEquals("deal122", KeysetCursor.decode(page.getNextCursor()).getId());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getDealsPage_InvalidSize() {
+        StepVerifier.create(dealService.getDealsPage(null, 0, Role.USER))
+                .expectError(BadRequestException.class)
+                .verify();
+
+        verifyNoInteractions(dealRepository);
+    }
+
+    @Test
+    void updateDeal_StaleVersion_PreconditionFailed() {
+        when(dealRepository.updateAndGet(eq("deal123"), eq(2L), any(Update.class))).thenReturn(Mono.empty());
+        when(dealRepository.existsById("deal123")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(dealService.updateDeal("deal123", UpdateDealRequest.builder().clientName("New").build(),
+                        2L, Role.ADMIN))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+
+        verifyNoInteractions(kafkaProducerService);
+    }
+
+    @Test
+    void updateDeal_PublishesVersionedEvent() {
+        when(dealRepository.updateAndGet(eq("deal123"), eq(3L), any(Update.class)))
+                .thenReturn(Mono.just(deal.toBuilder().clientName("New").version(4L).build()));
+
+        StepVerifier.create(dealService.updateDeal("deal123", UpdateDealRequest.builder().clientName("New").build(),
+                        3L, Role.ADMIN))
+                .assertNext(response -> assertEquals("New", response.getClientName()))
+                .verifyComplete();
+
+        ArgumentCaptor<DealUpdatedEvent> event = ArgumentCaptor.forClass(DealUpdatedEvent.class);
+        verify(kafkaProducerService).publishDealUpdatedEvent(event.capture());
+        assertEquals("DEAL_UPDATED", event.getValue().getEventType());
+        assertEquals(4L, event.getValue().getVersion());
+    }
+
+    @Test
+    void updateDealStage_ReturnsAdvancedDeal() {
+        when(dealRepository.transitionStage(eq("deal123"), eq(DealStage.Prospect), isNull(), eq(DealStage.UnderEvaluation),
+                any(LocalDateTime.class))).thenReturn(Mono.just(deal));
+
+        StepVerifier.create(dealService.updateDealStage("deal123", DealStage.UnderEvaluation, DealStage.Prospect, null, Role.USER))
+                .assertNext(response -> {
+                    assertEquals(DealStage.UnderEvaluation, response.getCurrentStage());
+                    assertEquals(4L, response.getVersion());
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<DealStageUpdatedEvent> event = ArgumentCaptor.forClass(DealStageUpdatedEvent.class);
+        verify(kafkaProducerService).publishDealStageUpdatedEvent(event.capture());
+        assertEquals("Prospect", event.getValue().getPreviousStage());
+    }
+
+    @Test
+    void updateDealStage_UnexpectedStage_Conflict() {
+        when(dealRepository.transitionStage(eq("deal123"), eq(DealStage.UnderEvaluation), isNull(), eq(DealStage.TermSheetSubmitted),
+                any(LocalDateTime.class))).thenReturn(Mono.empty());
+        when(dealRepository.findById("deal123")).thenReturn(Mono.just(deal));
+
+        StepVerifier.create(dealService.updateDealStage("deal123", DealStage.TermSheetSubmitted, DealStage.UnderEvaluation, null, Role.USER))
+                .expectError(ConflictException.class)
+                .verify();
+    }
+
+    @Test
+    void deleteDeal_RemovesNotesAndPublishesEvent() {
+        when(dealRepository.removeById("deal123", null)).thenReturn(Mono.just(true));
+        when(dealNoteRepository.deleteByDealId("deal123")).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(dealService.deleteDeal("deal123", null))
+                .verifyComplete();
+
+        ArgumentCaptor<DealUpdatedEvent> event = ArgumentCaptor.forClass(DealUpdatedEvent.class);
+        verify(kafkaProducerService).publishDealUpdatedEvent(event.capture());
+        assertEquals("DEAL_DELETED", event.getValue().getEventType());
+    }
+
+    @Test
+    void deleteDeal_NotFound() {
+        when(dealRepository.removeById("missing", null)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(dealService.deleteDeal("missing", null))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+
+        verifyNoInteractions(dealNoteRepository, kafkaProducerService);
+    }
+}
@@ -0,0 +1,67 @@
+package com.investbank.dealpipeline.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+
+// CBOR and Smile encodings of the JSON APIs, picked by the Accept header. Spring Boot puts these converters in place
+// of the default ones, which would ignore the spring.jackson.* settings the JSON responses are written with.
+@Configuration
+public class BinaryContentConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binaryMapper(builder, new CBORFactory()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(binaryMapper(builder, new SmileFactory()));
+    }
+
+    private ObjectMapper binaryMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        ObjectMapper mapper = builder.factory(factory).build();
+        mapper.registerModule(new SimpleModule("raw-json-transcoding")
+                .addSerializer(RawValue.class, new RawJsonTranscodingSerializer()));
+        return mapper;
+    }
+
+    // Pre-rendered JSON fragments (DealSummaryFragments) cannot be copied into a binary stream as they are,
+    // so they are re-read token by token and written in the target encoding
+    static class RawJsonTranscodingSerializer extends StdSerializer<RawValue> {
+
+        private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+        RawJsonTranscodingSerializer() {
+            super(RawValue.class);
+        }
+
+        @Override
+        public void serialize(RawValue value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Object raw = value.rawValue();
+            try (JsonParser parser = raw instanceof SerializableString fragment
+                    ? JSON_FACTORY.createParser(fragment.asUnquotedUTF8())
+                    : JSON_FACTORY.createParser(String.valueOf(raw))) {
+                parser.nextToken();
+                gen.copyCurrentStructure(parser);
+            }
+        }
+    }
+}
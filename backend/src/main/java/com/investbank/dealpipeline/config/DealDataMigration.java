@@ -0,0 +1,143 @@
+package com.investbank.dealpipeline.config;
+
+import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.model.DealNote;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.exists;
+import static com.mongodb.client.model.Projections.include;
+import static com.mongodb.client.model.Updates.combine;
+import static com.mongodb.client.model.Updates.set;
+import static com.mongodb.client.model.Updates.unset;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Profile("!test")
+public class DealDataMigration implements CommandLineRunner {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    @Value("${deals.migration.enabled:true}")
+    private boolean enabled;
+    
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            log.info("Deal data migration disabled. Skipping.");
+            return;
+        }
+        
+        migrateEmbeddedNotes();
+        backfillVersions();
+    }
+    
+    // Deals written before @Version was added have no version field, which save() would take for a new
+    // document and If-Match could never match; start them at 0 like freshly inserted deals
+    private void backfillVersions() {
+        long updated = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Deal.class))
+                .updateMany(exists("version", false), set("version", 0L))
+                .getModifiedCount();
+        
+        if (updated > 0) {
+            log.info("Initialised version on {} deals", updated);
+        }
+    }
+    
+    // Moves notes still embedded in deal documents into deal_notes. Note ids are derived from the
+    // deal id and list position, so a run interrupted half-way can simply be repeated.
+    private void migrateEmbeddedNotes() {
+        String dealCollection = mongoTemplate.getCollectionName(Deal.class);
+        String noteCollection = mongoTemplate.getCollectionName(DealNote.class);
+        int migratedDeals = 0;
+        
+        for (Document deal : mongoTemplate.getCollection(dealCollection)
+                .find(exists("notes"))
+                .projection(include("notes"))) {
+            
+            Object dealId = deal.get("_id");
+            List<Document> embedded = deal.getList("notes", Document.class, List.of());
+            List<Document> notes = new ArrayList<>(embedded.size());
+            for (int i = 0; i < embedded.size(); i++) {
+                Document note = embedded.get(i);
+                notes.add(new Document("_id", legacyNoteId(dealId.toString(), i, note.getDate("timestamp")))
+                        .append("dealId", dealId.toString())
+                        .append("userId", note.get("userId"))
+                        .append("note", note.get("note"))
+                        .append("timestamp", note.get("timestamp")));
+            }
+            
+            insertIgnoringDuplicates(noteCollection, notes);
+            long noteCount = mongoTemplate.getCollection(noteCollection).countDocuments(eq("dealId", dealId.toString()));
+            
+            mongoTemplate.getCollection(dealCollection).updateOne(
+                    eq("_id", dealId),
+                    combine(set("noteCount", noteCount), unset("notes")));
+            if (!embedded.isEmpty()) {
+                mongoTemplate.getCollection(dealCollection).updateOne(
+                        and(eq("_id", dealId), exists("lastNote", false)),
+                        set("lastNote", embedded.get(embedded.size() - 1)));
+            }
+            migratedDeals++;
+        }
+        
+        if (migratedDeals > 0) {
+            log.info("Migrated embedded notes of {} deals into {}", migratedDeals, noteCollection);
+        }
+    }
+    
+    private void insertIgnoringDuplicates(String collection, List<Document> notes) {
+        if (notes.isEmpty()) {
+            return;
+        }
+        
+        try {
+            mongoTemplate.getCollection(collection)
+                    .insertMany(notes, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException ex) {
+            for (BulkWriteError error : ex.getWriteErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    throw ex;
+                }
+            }
+        }
+    }
+    
+    // Seconds of the note timestamp keep ObjectId order roughly chronological; the rest is a digest
+    private ObjectId legacyNoteId(String dealId, int index, Date timestamp) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((dealId + ":" + index).getBytes(StandardCharsets.UTF_8));
+            int seconds = timestamp != null ? (int) (timestamp.getTime() / 1000) : 0;
+            
+            return new ObjectId(ByteBuffer.allocate(12)
+                    .putInt(seconds)
+                    .put(digest, 0, 8)
+                    .array());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
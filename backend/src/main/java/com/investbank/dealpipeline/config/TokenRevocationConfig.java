@@ -0,0 +1,29 @@
+package com.investbank.dealpipeline.config;
+
+import com.investbank.dealpipeline.repository.RevokedTokenRepository;
+import com.investbank.dealpipeline.repository.UserRepository;
+import com.investbank.dealpipeline.security.RevokedTokens;
+import com.investbank.dealpipeline.security.TokenEpochs;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// The in-memory revocation state JwtAuthenticationFilter checks, loaded from Mongo at startup and reloaded in the
+// background after maxAge. The reactive backend builds the same two from its reactive repositories.
+@Configuration
+public class TokenRevocationConfig {
+
+    @Bean
+    public TokenEpochs tokenEpochs(UserRepository userRepository,
+                                   @Value("${jwt.epochs.max-age:5m}") Duration maxAge) {
+        return new TokenEpochs(userRepository::findAdvancedTokenEpochs, maxAge);
+    }
+
+    @Bean
+    public RevokedTokens revokedTokens(RevokedTokenRepository revokedTokenRepository,
+                                       @Value("${jwt.revocations.max-age:5m}") Duration maxAge) {
+        return new RevokedTokens(revokedTokenRepository::findByExpiresAtAfter, maxAge);
+    }
+}
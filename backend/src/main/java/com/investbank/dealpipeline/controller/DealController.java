@@ -1,75 +1,242 @@
 package com.investbank.dealpipeline.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.investbank.dealpipeline.config.BinaryContentConfig;
 import com.investbank.dealpipeline.dto.request.AddNoteRequest;
+import com.investbank.dealpipeline.dto.request.BatchStageUpdateRequest;
 import com.investbank.dealpipeline.dto.request.CreateDealRequest;
+import com.investbank.dealpipeline.dto.request.DealFilterRequest;
 import com.investbank.dealpipeline.dto.request.UpdateDealRequest;
 import com.investbank.dealpipeline.dto.request.UpdateDealStageRequest;
 import com.investbank.dealpipeline.dto.request.UpdateDealValueRequest;
+import com.investbank.dealpipeline.dto.response.BatchStageUpdateResponse;
+import com.investbank.dealpipeline.dto.response.CursorPageResponse;
+import com.investbank.dealpipeline.dto.response.DealImportResponse;
 import com.investbank.dealpipeline.dto.response.DealResponse;
-import com.investbank.dealpipeline.dto.response.DealSummaryResponse;
+import com.investbank.dealpipeline.exception.BadRequestException;
+import com.investbank.dealpipeline.exception.PreconditionFailedException;
+import com.investbank.dealpipeline.model.Note;
 import com.investbank.dealpipeline.model.Role;
-import com.investbank.dealpipeline.model.User;
-import com.investbank.dealpipeline.repository.UserRepository;
+import com.investbank.dealpipeline.security.AuthenticatedUser;
+import com.investbank.dealpipeline.service.DealExportService;
+import com.investbank.dealpipeline.service.DealImportService;
 import com.investbank.dealpipeline.service.DealService;
+import com.investbank.dealpipeline.service.DealSummarySnapshot;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/deals")
 @RequiredArgsConstructor
 public class DealController {
     
+    private static final int STREAM_FLUSH_INTERVAL = 100;
+    
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final MediaType XLSX =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+    
     private final DealService dealService;
-    private final UserRepository userRepository;
+    private final DealImportService dealImportService;
+    private final DealExportService dealExportService;
+    private final DealSummarySnapshot dealSummarySnapshot;
+    private final ObjectMapper objectMapper;
     
     @PostMapping
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public ResponseEntity<DealResponse> createDeal(
             @Valid @RequestBody CreateDealRequest request,
-            Authentication authentication) {
-        
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username).orElseThrow();
+            @AuthenticationPrincipal AuthenticatedUser user) {
         
         DealResponse response = dealService.createDeal(request, user.getId(), user.getRole());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    // The raw request body is parsed as it arrives, so uploads of any size are never buffered in full
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DealImportResponse> importDealsCsv(
+            InputStream body,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        
+        DealImportResponse response = dealImportService.importCsv(body, user.getId());
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DealImportResponse> importDealsNdjson(
+            InputStream body,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        
+        DealImportResponse response = dealImportService.importNdjson(body, user.getId());
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<List<DealResponse>> getAllDeals(Authentication authentication) {
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username).orElseThrow();
-        
+    public ResponseEntity<List<DealResponse>> getAllDeals(@AuthenticationPrincipal AuthenticatedUser user) {
         List<DealResponse> deals = dealService.getAllDeals(user.getRole());
         return ResponseEntity.ok(deals);
     }
     
+    // Newline-delimited JSON written straight from the Mongo cursor, one deal per line
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAllDeals(@AuthenticationPrincipal AuthenticatedUser user) {
+        Role role = user.getRole();
+        
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<DealResponse> deals = dealService.streamAllDeals(role);
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                
+                generator.setRootValueSeparator(null);
+                int written = 0;
+                for (DealResponse deal : (Iterable<DealResponse>) deals::iterator) {
+                    writer.writeValue(generator, deal);
+                    generator.writeRaw('\n');
+                    // Push the first line out immediately, then flush in chunks
+                    if (++written % STREAM_FLUSH_INTERVAL == 1) {
+                        generator.flush();
+                    }
+                }
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    // Whole-book export written from a projected Mongo cursor; ?columns= picks and orders the columns
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportDeals(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) List<String> columns) {
+        
+        // Resolved up front so a bad column is a 400 rather than a truncated download
+        List<DealExportService.Column> selected = dealExportService.resolveColumns(columns);
+        
+        StreamingResponseBody body;
+        MediaType contentType;
+        switch (format.toLowerCase()) {
+            case "csv" -> {
+                body = outputStream -> dealExportService.writeCsv(selected, outputStream);
+                contentType = TEXT_CSV;
+            }
+            case "xlsx" -> {
+                body = outputStream -> dealExportService.writeXlsx(selected, outputStream);
+                contentType = XLSX;
+            }
+            default -> throw new BadRequestException("Unsupported export format: " + format);
+        }
+        
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("deals." + format.toLowerCase()).build().toString())
+                .body(body);
+    }
+    
+    // Pre-serialized snapshot; a matching If-None-Match is answered with 304 by Spring from the ETag alone
     @GetMapping("/summary")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<List<DealSummaryResponse>> getAllDealsSummary() {
-        List<DealSummaryResponse> deals = dealService.getAllDealsSummary();
+    public ResponseEntity<byte[]> getAllDealsSummary() {
+        DealSummarySnapshot.Snapshot snapshot = dealSummarySnapshot.current();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(snapshot.eTag())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(snapshot.body());
+    }
+    
+    // The same snapshot for binary clients, transcoded from its fragments on the way out. The tag is weak because
+    // the list is the same as the JSON one while the bytes are not.
+    @GetMapping(value = "/summary", produces = {MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfig.APPLICATION_SMILE_VALUE})
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<List<RawValue>> getAllDealsSummaryBinary() {
+        DealSummarySnapshot.Snapshot snapshot = dealSummarySnapshot.current();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag("W/\"" + snapshot.eTag() + "\"")
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(snapshot.summaries().stream().map(RawValue::new).collect(Collectors.toList()));
+    }
+    
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<CursorPageResponse<DealResponse>> getDealsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        
+        CursorPageResponse<DealResponse> page = dealService.getDealsPage(cursor, size, user.getRole());
+        return ResponseEntity.ok(page);
+    }
+    
+    @GetMapping("/filter")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<CursorPageResponse<DealResponse>> filterDeals(
+            DealFilterRequest filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        
+        CursorPageResponse<DealResponse> page = dealService.filterDeals(filter, cursor, size, user.getRole());
+        return ResponseEntity.ok(page);
+    }
+    
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<List<RawValue>> searchDeals(
+            @RequestParam("q") String text,
+            @RequestParam(required = false) Integer limit) {
+        
+        List<RawValue> deals = dealService.searchDeals(text, limit);
         return ResponseEntity.ok(deals);
     }
     
+    @GetMapping("/summary/page")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<CursorPageResponse<RawValue>> getDealsSummaryPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        
+        CursorPageResponse<RawValue> page = dealService.getDealsSummaryPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+    
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public ResponseEntity<DealResponse> getDealById(
             @PathVariable String id,
-            Authentication authentication) {
-        
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username).orElseThrow();
+            @AuthenticationPrincipal AuthenticatedUser user) {
         
         DealResponse response = dealService.getDealById(id, user.getRole());
-        return ResponseEntity.ok(response);
+        return withETag(response);
     }
     
     @PutMapping("/{id}")
@@ -77,13 +244,11 @@ public class DealController {
     public ResponseEntity<DealResponse> updateDeal(
             @PathVariable String id,
             @RequestBody UpdateDealRequest request,
-            Authentication authentication) {
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal AuthenticatedUser user) {
         
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username).orElseThrow();
-        
-        DealResponse response = dealService.updateDeal(id, request, user.getRole());
-        return ResponseEntity.ok(response);
+        DealResponse response = dealService.updateDeal(id, request, parseIfMatch(ifMatch), user.getRole());
+        return withETag(response);
     }
     
     @PatchMapping("/{id}/stage")
@@ -91,12 +256,21 @@ public class DealController {
     public ResponseEntity<DealResponse> updateDealStage(
             @PathVariable String id,
             @Valid @RequestBody UpdateDealStageRequest request,
-            Authentication authentication) {
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal AuthenticatedUser user) {
         
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username).orElseThrow();
+        DealResponse response = dealService.updateDealStage(
+                id, request.getStage(), request.getExpectedStage(), parseIfMatch(ifMatch), user.getRole());
+        return withETag(response);
+    }
+    
+    // Moves many deals in one bulk write; items are reported individually and never fail the whole batch
+    @PostMapping("/stage:batch")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<BatchStageUpdateResponse> updateDealStages(
+            @Valid @RequestBody BatchStageUpdateRequest request) {
         
-        DealResponse response = dealService.updateDealStage(id, request.getStage(), user.getRole());
+        BatchStageUpdateResponse response = dealService.updateDealStages(request.getTransitions());
         return ResponseEntity.ok(response);
     }
     
@@ -105,13 +279,22 @@ public class DealController {
     public ResponseEntity<DealResponse> updateDealValue(
             @PathVariable String id,
             @Valid @RequestBody UpdateDealValueRequest request,
-            Authentication authentication) {
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal AuthenticatedUser user) {
         
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username).orElseThrow();
+        DealResponse response = dealService.updateDealValue(id, request.getDealValue(), parseIfMatch(ifMatch), user.getRole());
+        return withETag(response);
+    }
+    
+    @GetMapping("/{id}/notes")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<CursorPageResponse<Note>> getDealNotes(
+            @PathVariable String id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         
-        DealResponse response = dealService.updateDealValue(id, request.getDealValue(), user.getRole());
-        return ResponseEntity.ok(response);
+        CursorPageResponse<Note> page = dealService.getDealNotes(id, cursor, size);
+        return ResponseEntity.ok(page);
     }
     
     @PostMapping("/{id}/notes")
@@ -119,19 +302,59 @@ public class DealController {
     public ResponseEntity<DealResponse> addNote(
             @PathVariable String id,
             @Valid @RequestBody AddNoteRequest request,
-            Authentication authentication) {
-        
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username).orElseThrow();
+            @AuthenticationPrincipal AuthenticatedUser user) {
         
         DealResponse response = dealService.addNote(id, request, user.getId(), user.getRole());
         return ResponseEntity.ok(response);
     }
     
+    // ?view=note skips reading the deal back and returns just the appended note
+    @PostMapping(value = "/{id}/notes", params = "view=note")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<Note> appendNote(
+            @PathVariable String id,
+            @Valid @RequestBody AddNoteRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        
+        Note note = dealService.appendNote(id, request, user.getId());
+        return ResponseEntity.ok(note);
+    }
+    
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Void> deleteDeal(@PathVariable String id) {
-        dealService.deleteDeal(id);
+    public ResponseEntity<Void> deleteDeal(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        dealService.deleteDeal(id, parseIfMatch(ifMatch));
         return ResponseEntity.noContent().build();
     }
+    
+    // The deal version doubles as a strong ETag so clients can send it back in If-Match
+    private ResponseEntity<DealResponse> withETag(DealResponse response) {
+        if (response.getVersion() == null) {
+            return ResponseEntity.ok(response);
+        }
+        return ResponseEntity.ok().eTag(String.valueOf(response.getVersion())).body(response);
+    }
+    
+    // Absent or "*" means unconditional; otherwise a single strong ETag as issued by withETag
+    private Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        
+        String tag = ifMatch.trim();
+        // Weak comparison is not allowed for If-Match, so a weak tag can never match and the precondition fails
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException("A weak ETag cannot satisfy If-Match");
+        }
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new BadRequestException("If-Match must be a single strong ETag");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("If-Match must be a single strong ETag");
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package com.investbank.dealpipeline.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DealUpdatedEvent {
+    
+    // DEAL_UPDATED, DEAL_NOTE_ADDED or DEAL_DELETED
+    private String eventId;
+    private String eventType;
+    private LocalDateTime timestamp;
+    
+    // Deal Details
+    private String dealId;
+    // Version after the write; absent for deletes and writes that do not read the deal back
+    private Long version;
+}
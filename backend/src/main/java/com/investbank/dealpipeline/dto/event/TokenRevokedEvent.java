@@ -0,0 +1,28 @@
+package com.investbank.dealpipeline.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevokedEvent {
+    
+    // Published on the deal events topic under this key prefix, so consumers can tell it from deal events by key
+    public static final String KEY_PREFIX = "token:";
+    
+    // TOKEN_REVOKED
+    private String eventId;
+    private String eventType;
+    private LocalDateTime timestamp;
+    
+    // Token Details
+    private String tokenId;
+    private String userId;
+    private LocalDateTime expiresAt;
+}
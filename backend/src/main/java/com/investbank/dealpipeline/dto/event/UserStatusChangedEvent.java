@@ -0,0 +1,28 @@
+package com.investbank.dealpipeline.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatusChangedEvent {
+    
+    // Published on the deal events topic under this key prefix, so consumers can tell it from deal events by key
+    public static final String KEY_PREFIX = "user:";
+    
+    // USER_REGISTERED, USER_ACTIVATED or USER_DEACTIVATED
+    private String eventId;
+    private String eventType;
+    private LocalDateTime timestamp;
+    
+    // User Details
+    private String userId;
+    private boolean active;
+    private long tokenEpoch;
+}
@@ -0,0 +1,22 @@
+package com.investbank.dealpipeline.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchStageUpdateRequest {
+    
+    @NotEmpty(message = "At least one transition is required")
+    @Size(max = 200, message = "At most 200 transitions per batch")
+    private List<@Valid StageTransitionRequest> transitions;
+}
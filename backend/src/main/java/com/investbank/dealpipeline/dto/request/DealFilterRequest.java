@@ -0,0 +1,29 @@
+package com.investbank.dealpipeline.dto.request;
+
+import com.investbank.dealpipeline.model.DealStage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DealFilterRequest {
+    
+    private List<DealStage> stages;
+    private String sector;
+    private String dealType;
+    private String assignedTo;
+    private String createdBy;
+    private Long minValue;
+    private Long maxValue;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedSince;
+}
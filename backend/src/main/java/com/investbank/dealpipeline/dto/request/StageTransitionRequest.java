@@ -0,0 +1,25 @@
+package com.investbank.dealpipeline.dto.request;
+
+import com.investbank.dealpipeline.model.DealStage;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StageTransitionRequest {
+    
+    @NotBlank(message = "Deal id is required")
+    private String dealId;
+    
+    @NotNull(message = "Deal stage is required")
+    private DealStage stage;
+    
+    // Optional guard: the move only applies if the deal is still in this stage
+    private DealStage expectedStage;
+}
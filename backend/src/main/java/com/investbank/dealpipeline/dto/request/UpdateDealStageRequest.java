@@ -15,4 +15,7 @@ public class UpdateDealStageRequest {
     
     @NotNull(message = "Deal stage is required")
     private DealStage stage;
+    
+    // Optional guard: the move only applies if the deal is still in this stage
+    private DealStage expectedStage;
 }
@@ -0,0 +1,18 @@
+package com.investbank.dealpipeline.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchStageUpdateResponse {
+    private int requested;
+    private int applied;
+    private List<StageTransitionResult> results;
+}
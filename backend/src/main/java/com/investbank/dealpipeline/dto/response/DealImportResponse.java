@@ -0,0 +1,33 @@
+package com.investbank.dealpipeline.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DealImportResponse {
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        // 1-based position of the record in the upload, not counting the CSV header line
+        private long row;
+        private String message;
+    }
+    
+    private long processed;
+    private long imported;
+    private long failed;
+    // Set when the input could not be parsed any further and the remaining rows were not read
+    private boolean aborted;
+    // Only the first DealImportService.MAX_REPORTED_ERRORS errors are listed; failed has the full count
+    private List<RowError> errors;
+}
@@ -23,8 +23,11 @@ public class DealResponse {
     private DealStage currentStage;
     private String summary;
     private List<Note> notes;
+    private Long noteCount;
+    private Note lastNote;
     private String createdBy;
     private String assignedTo;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
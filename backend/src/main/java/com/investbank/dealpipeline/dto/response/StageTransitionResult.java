@@ -0,0 +1,28 @@
+package com.investbank.dealpipeline.dto.response;
+
+import com.investbank.dealpipeline.model.DealStage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StageTransitionResult {
+    
+    public enum Status {
+        APPLIED,
+        // The deal was already in the requested stage
+        UNCHANGED,
+        // The deal was not in expectedStage, or was moved by someone else before the batch was written
+        CONFLICT,
+        NOT_FOUND
+    }
+    
+    private String dealId;
+    private Status status;
+    private DealStage previousStage;
+    private DealStage currentStage;
+}
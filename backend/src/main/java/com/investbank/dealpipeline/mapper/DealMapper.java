@@ -3,6 +3,8 @@ package com.investbank.dealpipeline.mapper;
 import com.investbank.dealpipeline.dto.response.DealResponse;
 import com.investbank.dealpipeline.dto.response.DealSummaryResponse;
 import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.model.DealNote;
+import com.investbank.dealpipeline.model.Note;
 import com.investbank.dealpipeline.model.Role;
 import org.springframework.stereotype.Component;
 
@@ -23,11 +25,13 @@ public class DealMapper {
                 .dealValue(deal.getDealValue())
                 .currentStage(deal.getCurrentStage())
                 .summary(deal.getSummary())
-                .notes(deal.getNotes())
+                .noteCount(deal.getNoteCount())
+                .lastNote(deal.getLastNote())
                 .createdBy(deal.getCreatedBy())
                 .assignedTo(deal.getAssignedTo())
                 .createdAt(deal.getCreatedAt())
                 .updatedAt(deal.getUpdatedAt())
+                .version(deal.getVersion())
                 .build();
     }
     
@@ -47,4 +51,16 @@ public class DealMapper {
                 .updatedAt(deal.getUpdatedAt())
                 .build();
     }
+    
+    public Note toNote(DealNote dealNote) {
+        if (dealNote == null) {
+            return null;
+        }
+        
+        return Note.builder()
+                .userId(dealNote.getUserId())
+                .note(dealNote.getNote())
+                .timestamp(dealNote.getTimestamp())
+                .build();
+    }
 }
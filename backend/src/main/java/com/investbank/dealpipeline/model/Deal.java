@@ -7,24 +7,34 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "deals")
+@CompoundIndexes({
+        @CompoundIndex(name = "updatedAt_id_idx", def = "{'updatedAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "stage_updatedAt_id_idx", def = "{'currentStage': 1, 'updatedAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "assignedTo_updatedAt_id_idx", def = "{'assignedTo': 1, 'updatedAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "createdBy_updatedAt_id_idx", def = "{'createdBy': 1, 'updatedAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "sector_updatedAt_id_idx", def = "{'sector': 1, 'updatedAt': -1, '_id': -1}")
+})
 public class Deal {
     
     @Id
     private String id;
     
     @Indexed
+    @TextIndexed(weight = 3)
     private String clientName;
     
     private String dealType;
@@ -33,13 +43,15 @@ public class Deal {
     
     private Long dealValue;
     
-    @Indexed
     private DealStage currentStage;
     
+    @TextIndexed
     private String summary;
     
-    @Builder.Default
-    private List<Note> notes = new ArrayList<>();
+    // Notes live in the deal_notes collection; the deal only keeps a count and the latest one
+    private long noteCount;
+    
+    private Note lastNote;
     
     private String createdBy;
     
@@ -50,4 +62,8 @@ public class Deal {
     
     @LastModifiedDate
     private LocalDateTime updatedAt;
+    
+    // Bumped by every save, updateFirst and findAndModify; exposed to clients as the ETag
+    @Version
+    private Long version;
 }
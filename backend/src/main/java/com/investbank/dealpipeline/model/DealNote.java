@@ -0,0 +1,33 @@
+package com.investbank.dealpipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.TextIndexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "deal_notes")
+@CompoundIndex(name = "dealId_timestamp_id_idx", def = "{'dealId': 1, 'timestamp': -1, '_id': -1}")
+public class DealNote {
+    
+    @Id
+    private String id;
+    
+    private String dealId;
+    
+    private String userId;
+    
+    @TextIndexed
+    private String note;
+    
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,31 @@
+package com.investbank.dealpipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "revoked_tokens")
+public class RevokedToken {
+    
+    // The token's jti claim
+    @Id
+    private String id;
+    
+    private String userId;
+    
+    private LocalDateTime revokedAt;
+    
+    // The token's own expiry; Mongo drops the entry once the token could no longer be used anyway
+    @Indexed(expireAfterSeconds = 0)
+    private LocalDateTime expiresAt;
+}
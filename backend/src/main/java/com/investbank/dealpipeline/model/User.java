@@ -33,6 +33,9 @@ public class User {
     
     private boolean active;
     
+    // Advanced on deactivation; tokens carrying an older epoch are no longer accepted
+    private long tokenEpoch;
+    
     @CreatedDate
     private LocalDateTime createdAt;
 }
@@ -0,0 +1,11 @@
+package com.investbank.dealpipeline.repository;
+
+import com.investbank.dealpipeline.model.DealNote;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DealNoteRepository extends MongoRepository<DealNote, String>, DealNoteRepositoryCustom {
+    
+    long deleteByDealId(String dealId);
+}
@@ -0,0 +1,15 @@
+package com.investbank.dealpipeline.repository;
+
+import com.investbank.dealpipeline.model.DealNote;
+import com.investbank.dealpipeline.util.KeysetCursor;
+
+import java.util.List;
+
+public interface DealNoteRepositoryCustom {
+
+    // Newest-first keyset page of one deal's notes; a null cursor starts from the latest note
+    List<DealNote> findPage(String dealId, KeysetCursor after, int limit);
+
+    // Ids of deals whose notes match the text, best note match first, without duplicates. Secondary read.
+    List<String> searchDealIds(String text, int limit);
+}
@@ -0,0 +1,55 @@
+package com.investbank.dealpipeline.repository;
+
+import com.investbank.dealpipeline.model.DealNote;
+import com.investbank.dealpipeline.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class DealNoteRepositoryCustomImpl implements DealNoteRepositoryCustom {
+
+    private static final Sort PAGE_SORT = Sort.by(Sort.Direction.DESC, "timestamp")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
+    private final MongoTemplate mongoTemplate;
+    private final SecondaryReads secondaryReads;
+
+    @Override
+    public List<DealNote> findPage(String dealId, KeysetCursor after, int limit) {
+        Criteria criteria = Criteria.where("dealId").is(dealId);
+        if (after != null) {
+            // Served by the {dealId: 1, timestamp: -1, _id: -1} index on DealNote
+            criteria.orOperator(
+                    Criteria.where("timestamp").lt(after.getTimestamp()),
+                    Criteria.where("timestamp").is(after.getTimestamp()).and("id").lt(after.getId())
+            );
+        }
+
+        Query query = new Query(criteria)
+                .with(PAGE_SORT)
+                .limit(limit);
+
+        return mongoTemplate.find(query, DealNote.class);
+    }
+
+    @Override
+    public List<String> searchDealIds(String text, int limit) {
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .sortByScore()
+                .limit(limit);
+        query.fields().include("dealId");
+
+        return mongoTemplate.find(secondaryReads.apply(query), DealNote.class).stream()
+                .map(DealNote::getDealId)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,74 @@
+package com.investbank.dealpipeline.repository;
+
+import com.investbank.dealpipeline.dto.request.DealFilterRequest;
+import com.investbank.dealpipeline.dto.request.StageTransitionRequest;
+import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.model.DealStage;
+import com.investbank.dealpipeline.util.KeysetCursor;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Methods noted as secondary reads may be served by a replica a bounded time behind the primary (see SecondaryReads)
+public interface DealRepositoryCustom {
+
+    // Keyset page ordered by (updatedAt desc, _id desc); a null cursor starts from the newest deal. Secondary read.
+    List<Deal> findPage(KeysetCursor after, int limit);
+
+    // Keyset page restricted to deals matching every non-null field of the filter. Secondary read.
+    List<Deal> findPage(DealFilterRequest filter, KeysetCursor after, int limit);
+
+    // Same ordering as findPage, but only the fields backing DealSummaryResponse are loaded. Secondary read.
+    List<Deal> findSummaryPage(KeysetCursor after, int limit);
+
+    // Every deal, for the full list view. Secondary read.
+    List<Deal> findAllForListing();
+
+    // Every deal in the given stage. Secondary read.
+    List<Deal> findByCurrentStage(DealStage stage);
+
+    // Every deal with only the summary fields populated (notes and audit fields are not fetched). Secondary read.
+    List<Deal> findAllSummaries();
+
+    // Summary-projected deals for the given ids, in no particular order. Read from the primary, so a patch made
+    // right after a write sees it.
+    List<Deal> findSummariesByIds(Collection<String> ids);
+
+    // Text-index search over clientName and summary, best matches first, summary fields only. Secondary read.
+    List<Deal> searchSummaries(String text, int limit);
+
+    // Applies the update atomically and returns the post-image in the same round trip; empty if no deal has the id
+    Optional<Deal> updateAndGet(String id, Update update);
+    
+    // As above, but only applies while the deal is still at expectedVersion (null skips the check);
+    // empty if the deal is missing or was modified in between
+    Optional<Deal> updateAndGet(String id, Long expectedVersion, Update update);
+
+    // Moves the deal to the given stage in one findAndModify and returns the document as it was before the
+    // move; empty if the deal is missing or no longer matches expectedStage/expectedVersion (null skips either)
+    Optional<Deal> transitionStage(String id, DealStage expectedStage, Long expectedVersion,
+                                   DealStage stage, LocalDateTime updatedAt);
+    
+    // Only currentStage, clientName and updatedAt of the given deals, in no particular order
+    List<Deal> findStagesByIds(Collection<String> ids);
+    
+    // One unordered bulk write; each move only applies while the deal is still in the transition's
+    // expectedStage. Returns how many deals were actually moved.
+    int transitionStages(List<StageTransitionRequest> transitions, LocalDateTime updatedAt);
+    
+    // Applies the update atomically without reading the document back; false if no deal has the id
+    boolean updateById(String id, Update update);
+    
+    // Deletes the deal only while it is still at expectedVersion (null skips the check); false if nothing was removed
+    boolean removeById(String id, Long expectedVersion);
+
+    // Lazily iterates the whole collection over a server-side cursor; callers must close the stream. Secondary read.
+    Stream<Deal> streamAll();
+
+    // As streamAll, but only the given fields are fetched (plus _id); callers must close the stream. Secondary read.
+    Stream<Deal> streamProjected(Collection<String> fields);
+}
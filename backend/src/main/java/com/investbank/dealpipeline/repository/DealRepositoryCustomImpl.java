@@ -0,0 +1,245 @@
+package com.investbank.dealpipeline.repository;
+
+import com.investbank.dealpipeline.dto.request.DealFilterRequest;
+import com.investbank.dealpipeline.dto.request.StageTransitionRequest;
+import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.model.DealStage;
+import com.investbank.dealpipeline.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class DealRepositoryCustomImpl implements DealRepositoryCustom {
+
+    private static final Sort PAGE_SORT = Sort.by(Sort.Direction.DESC, "updatedAt")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
+    // Fields read by DealMapper.toSummaryResponse, plus the version DealSummaryFragments keys on;
+    // _id is always returned by Mongo
+    private static final String[] SUMMARY_FIELDS = {
+            "clientName", "dealType", "sector", "currentStage", "summary", "assignedTo", "updatedAt", "version"
+    };
+
+    private static final String[] STAGE_FIELDS = {"currentStage", "clientName", "updatedAt"};
+
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final SecondaryReads secondaryReads;
+
+    @Override
+    public List<Deal> findPage(KeysetCursor after, int limit) {
+        return mongoTemplate.find(secondaryReads.apply(pageQuery(after, limit)), Deal.class);
+    }
+
+    @Override
+    public List<Deal> findPage(DealFilterRequest filter, KeysetCursor after, int limit) {
+        List<Criteria> criteria = filterCriteria(filter);
+        if (after != null) {
+            criteria.add(afterCursor(after));
+        }
+
+        Query query = new Query(criteria.isEmpty() ? new Criteria() : new Criteria().andOperator(criteria))
+                .with(PAGE_SORT)
+                .limit(limit);
+
+        return mongoTemplate.find(secondaryReads.apply(query), Deal.class);
+    }
+
+    @Override
+    public List<Deal> findSummaryPage(KeysetCursor after, int limit) {
+        return mongoTemplate.find(secondaryReads.apply(summaryProjection(pageQuery(after, limit))), Deal.class);
+    }
+
+    @Override
+    public List<Deal> findAllForListing() {
+        return mongoTemplate.find(secondaryReads.apply(new Query()), Deal.class);
+    }
+
+    @Override
+    public List<Deal> findByCurrentStage(DealStage stage) {
+        return mongoTemplate.find(secondaryReads.apply(new Query(Criteria.where("currentStage").is(stage))), Deal.class);
+    }
+
+    @Override
+    public List<Deal> findAllSummaries() {
+        return mongoTemplate.find(secondaryReads.apply(summaryProjection(new Query())), Deal.class);
+    }
+
+    @Override
+    public List<Deal> findSummariesByIds(Collection<String> ids) {
+        return mongoTemplate.find(summaryProjection(new Query(Criteria.where("id").in(ids))), Deal.class);
+    }
+
+    @Override
+    public List<Deal> searchSummaries(String text, int limit) {
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .sortByScore()
+                .limit(limit);
+
+        return mongoTemplate.find(secondaryReads.apply(summaryProjection(query)), Deal.class);
+    }
+
+    @Override
+    public Optional<Deal> updateAndGet(String id, Update update) {
+        return updateAndGet(id, null, update);
+    }
+
+    // MongoTemplate adds an $inc of the @Version field to every update against Deal, so each write here bumps it
+    @Override
+    public Optional<Deal> updateAndGet(String id, Long expectedVersion, Update update) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                byIdAndVersion(id, expectedVersion), update, FindAndModifyOptions.options().returnNew(true), Deal.class));
+    }
+
+    @Override
+    public Optional<Deal> transitionStage(String id, DealStage expectedStage, Long expectedVersion,
+                                          DealStage stage, LocalDateTime updatedAt) {
+        Query query = byIdAndVersion(id, expectedVersion);
+        if (expectedStage != null) {
+            query.addCriteria(Criteria.where("currentStage").is(expectedStage));
+        }
+        Update update = new Update()
+                .set("currentStage", stage)
+                .set("updatedAt", updatedAt);
+
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query, update, FindAndModifyOptions.options().returnNew(false), Deal.class));
+    }
+
+    @Override
+    public List<Deal> findStagesByIds(Collection<String> ids) {
+        Query query = new Query(Criteria.where("id").in(ids));
+        query.fields().include(STAGE_FIELDS);
+
+        return mongoTemplate.find(query, Deal.class);
+    }
+
+    // Bulk operations bypass MongoTemplate's @Version handling, so the version is bumped explicitly
+    @Override
+    public int transitionStages(List<StageTransitionRequest> transitions, LocalDateTime updatedAt) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Deal.class);
+        for (StageTransitionRequest transition : transitions) {
+            bulk.updateOne(
+                    new Query(Criteria.where("id").is(transition.getDealId())
+                            .and("currentStage").is(transition.getExpectedStage())),
+                    new Update()
+                            .set("currentStage", transition.getStage())
+                            .set("updatedAt", updatedAt)
+                            .inc("version", 1L));
+        }
+
+        return bulk.execute().getModifiedCount();
+    }
+
+    @Override
+    public boolean updateById(String id, Update update) {
+        Query query = new Query(Criteria.where("id").is(id));
+
+        return mongoTemplate.updateFirst(query, update, Deal.class).getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean removeById(String id, Long expectedVersion) {
+        return mongoTemplate.remove(byIdAndVersion(id, expectedVersion), Deal.class).getDeletedCount() > 0;
+    }
+
+    @Override
+    public Stream<Deal> streamAll() {
+        return mongoTemplate.stream(secondaryReads.apply(new Query().cursorBatchSize(STREAM_BATCH_SIZE)), Deal.class);
+    }
+
+    @Override
+    public Stream<Deal> streamProjected(Collection<String> fields) {
+        Query query = new Query().cursorBatchSize(STREAM_BATCH_SIZE);
+        query.fields().include(fields.toArray(String[]::new));
+
+        return mongoTemplate.stream(secondaryReads.apply(query), Deal.class);
+    }
+
+    private Query byIdAndVersion(String id, Long expectedVersion) {
+        Criteria criteria = Criteria.where("id").is(id);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+
+        return new Query(criteria);
+    }
+
+    private Query pageQuery(KeysetCursor after, int limit) {
+        return new Query(afterCursor(after))
+                .with(PAGE_SORT)
+                .limit(limit);
+    }
+
+    private Query summaryProjection(Query query) {
+        query.fields().include(SUMMARY_FIELDS);
+        return query;
+    }
+
+    // Equality predicates come first so the {field: 1, updatedAt: -1, _id: -1} indexes on Deal
+    // can serve the match, the keyset sort and the value/date ranges from a single index scan
+    private List<Criteria> filterCriteria(DealFilterRequest filter) {
+        List<Criteria> criteria = new ArrayList<>();
+
+        if (filter.getStages() != null && !filter.getStages().isEmpty()) {
+            criteria.add(filter.getStages().size() == 1
+                    ? Criteria.where("currentStage").is(filter.getStages().get(0))
+                    : Criteria.where("currentStage").in(filter.getStages()));
+        }
+        if (filter.getAssignedTo() != null) {
+            criteria.add(Criteria.where("assignedTo").is(filter.getAssignedTo()));
+        }
+        if (filter.getCreatedBy() != null) {
+            criteria.add(Criteria.where("createdBy").is(filter.getCreatedBy()));
+        }
+        if (filter.getSector() != null) {
+            criteria.add(Criteria.where("sector").is(filter.getSector()));
+        }
+        if (filter.getDealType() != null) {
+            criteria.add(Criteria.where("dealType").is(filter.getDealType()));
+        }
+        if (filter.getMinValue() != null || filter.getMaxValue() != null) {
+            Criteria value = Criteria.where("dealValue");
+            if (filter.getMinValue() != null) {
+                value.gte(filter.getMinValue());
+            }
+            if (filter.getMaxValue() != null) {
+                value.lte(filter.getMaxValue());
+            }
+            criteria.add(value);
+        }
+        if (filter.getUpdatedSince() != null) {
+            criteria.add(Criteria.where("updatedAt").gte(filter.getUpdatedSince()));
+        }
+
+        return criteria;
+    }
+
+    // Range predicate that lines up with the {updatedAt: -1, _id: -1} compound index
+    private Criteria afterCursor(KeysetCursor after) {
+        if (after == null) {
+            return new Criteria();
+        }
+
+        return new Criteria().orOperator(
+                Criteria.where("updatedAt").lt(after.getTimestamp()),
+                Criteria.where("updatedAt").is(after.getTimestamp()).and("id").lt(after.getId())
+        );
+    }
+}
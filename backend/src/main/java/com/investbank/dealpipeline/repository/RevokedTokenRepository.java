@@ -0,0 +1,15 @@
+package com.investbank.dealpipeline.repository;
+
+import com.investbank.dealpipeline.model.RevokedToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends MongoRepository<RevokedToken, String> {
+    
+    // The TTL monitor only runs once a minute, so entries past their expiry can still be returned without this
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+}
@@ -0,0 +1,31 @@
+package com.investbank.dealpipeline.repository;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Routing for dashboard reads that can tolerate slightly stale data (lists, filters, search, stage views, exports).
+// They go to a secondary no further than maxStaleness behind the primary, or to the primary if there is none.
+// Everything else, including detail reads and any read that must observe a preceding write, stays on the
+// template's default primary read preference.
+@Component
+public class SecondaryReads {
+
+    private final ReadPreference readPreference;
+
+    public SecondaryReads(@Value("${deals.reads.max-staleness:90s}") Duration maxStaleness) {
+        this.readPreference = ReadPreference.secondaryPreferred(maxStaleness.toSeconds(), TimeUnit.SECONDS);
+    }
+
+    // Majority read concern, so a secondary never returns writes that could still be rolled back
+    public Query apply(Query query) {
+        return query
+                .withReadPreference(readPreference)
+                .withReadConcern(ReadConcern.MAJORITY);
+    }
+}
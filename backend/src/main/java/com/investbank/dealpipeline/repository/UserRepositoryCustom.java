@@ -0,0 +1,14 @@
+package com.investbank.dealpipeline.repository;
+
+import com.investbank.dealpipeline.model.User;
+
+import java.util.List;
+
+public interface UserRepositoryCustom {
+
+    // Every user for the admin listing; may be served by a secondary (see SecondaryReads)
+    List<User> findAllForListing();
+
+    // Id and tokenEpoch of every user whose epoch has been advanced, read from the primary
+    List<User> findAdvancedTokenEpochs();
+}
@@ -0,0 +1,29 @@
+package com.investbank.dealpipeline.repository;
+
+import com.investbank.dealpipeline.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+    private final SecondaryReads secondaryReads;
+
+    @Override
+    public List<User> findAllForListing() {
+        return mongoTemplate.find(secondaryReads.apply(new Query()), User.class);
+    }
+
+    @Override
+    public List<User> findAdvancedTokenEpochs() {
+        Query query = new Query(Criteria.where("tokenEpoch").gt(0));
+        query.fields().include("tokenEpoch");
+
+        return mongoTemplate.find(query, User.class);
+    }
+}
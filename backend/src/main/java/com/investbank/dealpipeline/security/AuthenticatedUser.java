@@ -0,0 +1,57 @@
+package com.investbank.dealpipeline.security;
+
+import com.investbank.dealpipeline.model.Role;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+// The principal controllers receive. For bearer requests it is rebuilt from the token's claims, so neither the
+// filter nor the controller reads the user; at login it is loaded from Mongo and still carries the password hash.
+@Getter
+@Builder
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private final String id;
+    private final String username;
+    private String password;
+    private final Role role;
+    private final boolean active;
+    // Tokens issued below the user's current epoch are refused, see TokenEpochs
+    private final long tokenEpoch;
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return active;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.investbank.dealpipeline.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,6 +24,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenEpochs tokenEpochs;
+    private final RevokedTokens revokedTokens;
     
     @Override
     protected void doFilterInternal(
@@ -33,10 +36,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                
+            // One signature check per request; the claims it returns carry everything the principal needs
+            Claims claims = StringUtils.hasText(jwt) ? jwtTokenProvider.getValidatedClaims(jwt) : null;
+            UserDetails userDetails = claims != null ? getUserDetails(claims) : null;
+            
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -54,6 +58,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    // The token's own claims, checked against revoked token ids and the user's token epoch; tokens issued before
+    // the claims were added fall back to reading the user. Null leaves the request unauthenticated.
+    private UserDetails getUserDetails(Claims claims) {
+        if (revokedTokens.isRevoked(claims.getId())) {
+            log.debug("Rejected revoked token {}", claims.getId());
+            return null;
+        }
+        
+        AuthenticatedUser user = jwtTokenProvider.getAuthenticatedUser(claims);
+        if (user == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        
+        if (!tokenEpochs.isCurrent(user.getId(), user.getTokenEpoch())) {
+            log.debug("Rejected revoked token for user {}", user.getUsername());
+            return null;
+        }
+        return user;
+    }
+    
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         
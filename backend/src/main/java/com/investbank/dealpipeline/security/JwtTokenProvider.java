@@ -1,8 +1,16 @@
 package com.investbank.dealpipeline.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.investbank.dealpipeline.model.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
@@ -11,58 +19,139 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
 public class JwtTokenProvider {
     
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    // Claims that let a bearer request be authenticated without reading the user
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String EPOCH_CLAIM = "epoch";
     
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    public static final String CACHE_NAME = "verified-tokens";
+    
+    private final long jwtExpiration;
+    
+    // Both are immutable and thread-safe, so they are built once rather than per token
+    private final SecretKey key;
+    private final JwtParser parser;
+    
+    // Claims of tokens already verified, keyed by the token's SHA-256 so raw tokens are not held in memory.
+    // Entries never outlive the token's exp. Revocation is not cached: callers check the token epoch on every request.
+    private final Cache<String, Claims> verifiedTokens;
+    
+    public JwtTokenProvider(@Value("${jwt.secret}") String jwtSecret,
+                            @Value("${jwt.expiration}") long jwtExpiration,
+                            @Value("${jwt.cache.max-size:10000}") long cacheMaxSize,
+                            @Value("${jwt.cache.ttl:5m}") Duration cacheTtl,
+                            MeterRegistry meterRegistry) {
+        this.jwtExpiration = jwtExpiration;
+        this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilTokenExpiry(cacheTtl))
+                .recordStats()
+                .build();
+        
+        // cache.gets{result=hit|miss} tagged cache=verified-tokens; every miss is one signature check
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, CACHE_NAME);
+    }
     
     public String generateToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
         
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        
-        return Jwts.builder()
+        // The jti lets a single token be revoked on logout
+        JwtBuilder builder = Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(key)
-                .compact();
+                .expiration(expiryDate);
+        
+        if (userDetails instanceof AuthenticatedUser user) {
+            builder.claim(USER_ID_CLAIM, user.getId())
+                    .claim(ROLE_CLAIM, user.getRole().name())
+                    .claim(EPOCH_CLAIM, user.getTokenEpoch());
+        }
+        
+        return builder.signWith(key).compact();
     }
     
-    public String getUsernameFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    // The claims of a token whose signature and expiry have been verified, or null if the token is not valid.
+    // Parallel requests with the same token share one verification; invalid tokens are not cached.
+    public Claims getValidatedClaims(String token) {
+        return verifiedTokens.get(digest(token), digest -> verify(token));
+    }
+    
+    // The principal carried by verified claims, or null for a token issued before the claims were added
+    public AuthenticatedUser getAuthenticatedUser(Claims claims) {
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
         
-        return claims.getSubject();
+        Long epoch = claims.get(EPOCH_CLAIM, Long.class);
+        return AuthenticatedUser.builder()
+                .id(userId)
+                .username(claims.getSubject())
+                .role(Role.valueOf(role))
+                .active(true)
+                .tokenEpoch(epoch != null ? epoch : 0L)
+                .build();
     }
     
-    public boolean validateToken(String token) {
+    private Claims verify(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            
-            return true;
+            return parser.parseSignedClaims(token).getPayload();
         } catch (Exception ex) {
             log.error("JWT validation error: {}", ex.getMessage());
         }
-        return false;
+        return null;
+    }
+    
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+    
+    // Keeps verified claims for the cache TTL, or until the token's exp if that comes first
+    private record UntilTokenExpiry(Duration ttl) implements Expiry<String, Claims> {
+        
+        @Override
+        public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return ttl.toNanos();
+            }
+            long untilExpiry = TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(ttl.toNanos(), untilExpiry));
+        }
+        
+        @Override
+        public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+        
+        @Override
+        public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,84 @@
+package com.investbank.dealpipeline.security;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Per-instance copy of a small Mongo-backed map, reloaded in full every interval by a daemon thread of its own so
+// that requests only ever read memory. Values only grow: puts and reloads keep the larger value, so a reload that
+// read Mongo just before a local put cannot undo it. Backs TokenEpochs and RevokedTokens.
+@Slf4j
+public class ReloadingMap<K, V extends Comparable<? super V>> implements AutoCloseable {
+
+    private final String name;
+    private final Supplier<Map<K, V>> loader;
+    private final Predicate<V> retain;
+
+    private final Map<K, V> values = new ConcurrentHashMap<>();
+
+    // A lock rather than synchronized: reloads read from Mongo, and a virtual thread blocked inside
+    // a synchronized block would pin its carrier thread
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private final ScheduledExecutorService scheduler;
+
+    // The first load runs here, so nothing is ever checked against an empty map; entries failing retain are
+    // dropped on every reload. The loader runs on the caller's or the reload thread, never on a request.
+    public ReloadingMap(String name, Duration interval, Supplier<Map<K, V>> loader, Predicate<V> retain) {
+        this.name = name;
+        this.loader = loader;
+        this.retain = retain;
+
+        reload();
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name.replace(' ', '-') + "-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::scheduledReload, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public V get(K key) {
+        return values.get(key);
+    }
+
+    public void put(K key, V value) {
+        values.merge(key, value, (held, added) -> added.compareTo(held) > 0 ? added : held);
+    }
+
+    public void reload() {
+        reloadLock.lock();
+        try {
+            Map<K, V> loaded = loader.get();
+            loaded.forEach(this::put);
+            values.values().removeIf(retain.negate());
+            log.debug("Loaded {} {}", loaded.size(), name);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    // An exception escaping here would cancel every later run
+    private void scheduledReload() {
+        try {
+            reload();
+        } catch (RuntimeException ex) {
+            log.warn("Could not reload {}, keeping the ones held: {}", name, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.investbank.dealpipeline.security;
+
+import com.investbank.dealpipeline.model.RevokedToken;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Ids of individually revoked tokens that have not expired yet, held in memory so that bearer requests are
+// checked without reading Mongo. Local revocations are applied by AuthService, other replicas' by
+// KafkaConsumerService. Revoking every token of a user goes through TokenEpochs instead.
+public class RevokedTokens implements AutoCloseable {
+
+    // Token id to the token's expiry; an entry is only needed until the token would be rejected as expired
+    private final ReloadingMap<String, LocalDateTime> revoked;
+
+    // unexpired returns the revocations of tokens expiring after the given time
+    public RevokedTokens(Function<LocalDateTime, ? extends Collection<RevokedToken>> unexpired, Duration maxAge) {
+        this.revoked = new ReloadingMap<>("revoked tokens", maxAge,
+                () -> unexpired.apply(LocalDateTime.now()).stream()
+                        .collect(Collectors.toMap(RevokedToken::getId, RevokedToken::getExpiresAt)),
+                expiresAt -> expiresAt.isAfter(LocalDateTime.now()));
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.get(tokenId) != null;
+    }
+
+    public void add(String tokenId, LocalDateTime expiresAt) {
+        revoked.put(tokenId, expiresAt);
+    }
+
+    public void reload() {
+        revoked.reload();
+    }
+
+    @Override
+    public void close() {
+        revoked.close();
+    }
+}
@@ -0,0 +1,42 @@
+package com.investbank.dealpipeline.security;
+
+import com.investbank.dealpipeline.model.User;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// Each user's current token epoch, held in memory so that bearer requests are checked against deactivations
+// without reading the user. Only users whose epoch was ever advanced are held. Local deactivations are applied
+// by UserService, other replicas' by KafkaConsumerService; the full reload every maxAge bounds the damage of a
+// missed event.
+public class TokenEpochs implements AutoCloseable {
+
+    private final ReloadingMap<String, Long> epochs;
+
+    // advancedEpochs returns the id and tokenEpoch of every user whose epoch was ever advanced
+    public TokenEpochs(Supplier<? extends Collection<User>> advancedEpochs, Duration maxAge) {
+        this.epochs = new ReloadingMap<>("token epochs", maxAge,
+                () -> advancedEpochs.get().stream().collect(Collectors.toMap(User::getId, User::getTokenEpoch)),
+                epoch -> true);
+    }
+
+    public boolean isCurrent(String userId, long tokenEpoch) {
+        Long epoch = epochs.get(userId);
+        return epoch == null || tokenEpoch >= epoch;
+    }
+
+    public void advance(String userId, long tokenEpoch) {
+        epochs.put(userId, tokenEpoch);
+    }
+
+    public void reload() {
+        epochs.reload();
+    }
+
+    @Override
+    public void close() {
+        epochs.close();
+    }
+}
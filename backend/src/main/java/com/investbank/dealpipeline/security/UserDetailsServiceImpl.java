@@ -1,41 +1,82 @@
 package com.investbank.dealpipeline.security;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.investbank.dealpipeline.model.User;
 import com.investbank.dealpipeline.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import com.investbank.dealpipeline.util.AsyncCaches;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.time.Duration;
 
+// Users are cached by username, so logins and tokens without claims do not read Mongo every time. Local
+// changes evict through UserService and AuthService, other replicas' through KafkaConsumerService; the TTL
+// caps how long a missed event can leave a stale copy behind.
 @Service
-@RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
     
+    public static final String CACHE_NAME = "users";
+    
     private final UserRepository userRepository;
     
+    // Holds the stored user rather than the UserDetails: the authentication manager erases the password of
+    // the principal it returns, so each call builds a fresh one. Async for the same reason as DealCache.
+    private final AsyncCache<String, User> cache;
+    
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  @Value("${users.cache.max-size:10000}") long maxSize,
+                                  @Value("${users.cache.ttl:5m}") Duration ttl,
+                                  MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        
+        // cache.gets{result=hit|miss} tagged cache=users; every miss is one findByUsername
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+    
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        User user = getUser(username);
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
         
         if (!user.isActive()) {
             throw new UsernameNotFoundException("User account is deactivated");
         }
         
-        return org.springframework.security.core.userdetails.User.builder()
+        return AuthenticatedUser.builder()
+                .id(user.getId())
                 .username(user.getUsername())
                 .password(user.getPassword())
-                .authorities(Collections.singletonList(
-                        new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
-                ))
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(!user.isActive())
+                .role(user.getRole())
+                .active(user.isActive())
+                .tokenEpoch(user.getTokenEpoch())
                 .build();
     }
+    
+    public void evict(String username) {
+        if (username != null) {
+            cache.synchronous().invalidate(username);
+        }
+    }
+    
+    public void evictAll() {
+        cache.synchronous().invalidateAll();
+    }
+    
+    // Concurrent misses share one read, and an eviction during the read drops its result; unknown users are not cached
+    private User getUser(String username) {
+        return AsyncCaches.getOrLoad(cache, username, key -> userRepository.findByUsername(key).orElse(null));
+    }
 }
@@ -1,12 +1,20 @@
 package com.investbank.dealpipeline.service;
 
+import com.investbank.dealpipeline.dto.event.TokenRevokedEvent;
+import com.investbank.dealpipeline.dto.event.UserStatusChangedEvent;
 import com.investbank.dealpipeline.dto.request.CreateUserRequest;
 import com.investbank.dealpipeline.dto.request.LoginRequest;
 import com.investbank.dealpipeline.dto.response.LoginResponse;
 import com.investbank.dealpipeline.exception.BadRequestException;
+import com.investbank.dealpipeline.exception.UnauthorizedException;
+import com.investbank.dealpipeline.model.RevokedToken;
 import com.investbank.dealpipeline.model.User;
+import com.investbank.dealpipeline.repository.RevokedTokenRepository;
 import com.investbank.dealpipeline.repository.UserRepository;
 import com.investbank.dealpipeline.security.JwtTokenProvider;
+import com.investbank.dealpipeline.security.RevokedTokens;
+import com.investbank.dealpipeline.security.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,6 +25,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -27,6 +37,10 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final KafkaProducerService kafkaProducerService;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RevokedTokens revokedTokens;
     
     @Transactional
     public User register(CreateUserRequest request) {
@@ -49,7 +63,20 @@ public class AuthService {
                 .createdAt(LocalDateTime.now())
                 .build();
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        
+        // A lookup of the username before it existed is not cached, but other replicas are told all the same
+        userDetailsService.evict(saved.getUsername());
+        kafkaProducerService.publishUserStatusChangedEvent(UserStatusChangedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType("USER_REGISTERED")
+                .timestamp(LocalDateTime.now())
+                .userId(saved.getId())
+                .active(saved.isActive())
+                .tokenEpoch(saved.getTokenEpoch())
+                .build());
+        
+        return saved;
     }
     
     public LoginResponse login(LoginRequest request) {
@@ -78,4 +105,37 @@ public class AuthService {
                 .role(user.getRole().name())
                 .build();
     }
+    
+    // Revokes the presented token on every instance; the user's other tokens stay valid
+    public void logout(String token) {
+        Claims claims = token != null ? jwtTokenProvider.getValidatedClaims(token) : null;
+        if (claims == null) {
+            throw new UnauthorizedException("Invalid or expired token");
+        }
+        
+        if (claims.getId() == null) {
+            throw new BadRequestException("Token was issued before logout was supported and cannot be revoked");
+        }
+        
+        String userId = claims.get(JwtTokenProvider.USER_ID_CLAIM, String.class);
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        log.debug("Revoking token of user: {}", claims.getSubject());
+        
+        revokedTokenRepository.save(RevokedToken.builder()
+                .id(claims.getId())
+                .userId(userId)
+                .revokedAt(LocalDateTime.now())
+                .expiresAt(expiresAt)
+                .build());
+        
+        revokedTokens.add(claims.getId(), expiresAt);
+        kafkaProducerService.publishTokenRevokedEvent(TokenRevokedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType("TOKEN_REVOKED")
+                .timestamp(LocalDateTime.now())
+                .tokenId(claims.getId())
+                .userId(userId)
+                .expiresAt(expiresAt)
+                .build());
+    }
 }
@@ -0,0 +1,64 @@
+package com.investbank.dealpipeline.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.model.Note;
+import com.investbank.dealpipeline.util.AsyncCaches;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Bounded per-instance cache of deals by id, each with the notes preview the detail view shows.
+// Local writes evict synchronously through DealService; writes made on other replicas arrive through
+// the deal-events topic in KafkaConsumerService. The TTL caps how long a missed event can leave a stale copy behind.
+@Component
+@Slf4j
+public class DealCache {
+    
+    public static final String CACHE_NAME = "deals";
+    
+    // Cached deals are shared between requests and must not be modified by callers. Async so that a miss is loaded
+    // outside the map's lock: a virtual thread holding it through the Mongo read would pin its carrier thread.
+    private final AsyncCache<String, CachedDeal> cache;
+    
+    // Adding a note evicts the deal like any other write, so the preview never outlives the noteCount it matches
+    public record CachedDeal(Deal deal, List<Note> latestNotes) {
+    }
+    
+    public DealCache(@Value("${deals.cache.max-size:10000}") long maxSize,
+                     @Value("${deals.cache.ttl:5m}") Duration ttl,
+                     MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size, ... tagged cache=deals under /actuator/metrics
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+    
+    // Concurrent misses for the same id share one load; a missing deal is not cached
+    public Optional<CachedDeal> get(String id, Function<String, Optional<CachedDeal>> loader) {
+        return Optional.ofNullable(AsyncCaches.getOrLoad(cache, id, key -> loader.apply(key).orElse(null)));
+    }
+    
+    public void evict(String id) {
+        if (id != null) {
+            cache.synchronous().invalidate(id);
+        }
+    }
+    
+    public void evictAll(Collection<String> ids) {
+        cache.synchronous().invalidateAll(ids);
+    }
+}
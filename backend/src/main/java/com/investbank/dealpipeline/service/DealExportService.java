@@ -0,0 +1,172 @@
+package com.investbank.dealpipeline.service;
+
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.investbank.dealpipeline.exception.BadRequestException;
+import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.repository.DealRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DealExportService {
+
+    // Rows SXSSF keeps on the heap; older rows are flushed to a compressed temp file
+    private static final int XLSX_ROW_WINDOW = 100;
+
+    private static final String DATE_FORMAT = "yyyy-mm-dd hh:mm:ss";
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    private static final String FORMULA_TRIGGERS = "=+-@\t\r";
+
+    // Headers are the Deal field names, so a CSV export can be fed straight back into the import endpoint
+    @Getter
+    public enum Column {
+        ID("id", Deal::getId),
+        CLIENT_NAME("clientName", Deal::getClientName),
+        DEAL_TYPE("dealType", Deal::getDealType),
+        SECTOR("sector", Deal::getSector),
+        DEAL_VALUE("dealValue", Deal::getDealValue),
+        CURRENT_STAGE("currentStage", Deal::getCurrentStage),
+        SUMMARY("summary", Deal::getSummary),
+        NOTE_COUNT("noteCount", Deal::getNoteCount),
+        CREATED_BY("createdBy", Deal::getCreatedBy),
+        ASSIGNED_TO("assignedTo", Deal::getAssignedTo),
+        CREATED_AT("createdAt", Deal::getCreatedAt),
+        UPDATED_AT("updatedAt", Deal::getUpdatedAt);
+
+        private final String field;
+        private final Function<Deal, Object> extractor;
+
+        Column(String field, Function<Deal, Object> extractor) {
+            this.field = field;
+            this.extractor = extractor;
+        }
+    }
+
+    private final DealRepository dealRepository;
+
+    // Null or empty selects every column; otherwise the requested columns in the requested order
+    public List<Column> resolveColumns(List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return List.of(Column.values());
+        }
+
+        Set<Column> columns = new LinkedHashSet<>();
+        for (String field : fields) {
+            columns.add(Arrays.stream(Column.values())
+                    .filter(column -> column.getField().equals(field.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new BadRequestException("Unknown export column: " + field)));
+        }
+        return List.copyOf(columns);
+    }
+
+    public void writeCsv(List<Column> columns, OutputStream output) throws IOException {
+        CsvSchema.Builder schema = CsvSchema.builder().setUseHeader(true);
+        columns.forEach(column -> schema.addColumn(column.getField()));
+
+        long rows = 0;
+        try (Stream<Deal> deals = dealRepository.streamProjected(fields(columns));
+             SequenceWriter writer = CSV_MAPPER.writer(schema.build()).writeValues(output)) {
+
+            for (Deal deal : (Iterable<Deal>) deals::iterator) {
+                Object[] row = new Object[columns.size()];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = csvValue(columns.get(i).getExtractor().apply(deal));
+                }
+                writer.write(row);
+                rows++;
+            }
+        }
+        log.info("Exported {} deals as CSV", rows);
+    }
+
+    public void writeXlsx(List<Column> columns, OutputStream output) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+
+        // XLSX caps a sheet at 1,048,576 rows; POI rejects anything past that
+        int rows = 0;
+        try (Stream<Deal> deals = dealRepository.streamProjected(fields(columns))) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat(DATE_FORMAT));
+
+            Sheet sheet = workbook.createSheet("Deals");
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < columns.size(); i++) {
+                header.createCell(i).setCellValue(columns.get(i).getField());
+            }
+
+            for (Deal deal : (Iterable<Deal>) deals::iterator) {
+                Row row = sheet.createRow(++rows);
+                for (int i = 0; i < columns.size(); i++) {
+                    setCell(row.createCell(i), columns.get(i).getExtractor().apply(deal), dateStyle);
+                }
+            }
+
+            workbook.write(output);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+        log.info("Exported {} deals as XLSX", rows);
+    }
+
+    private Set<String> fields(List<Column> columns) {
+        return columns.stream()
+                .map(Column::getField)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private Object csvValue(Object value) {
+        if (value == null || value instanceof Number) {
+            return value;
+        }
+        return neutralizeFormula(value.toString());
+    }
+
+    private void setCell(Cell cell, Object value, CellStyle dateStyle) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value instanceof LocalDateTime dateTime) {
+            cell.setCellValue(dateTime);
+            cell.setCellStyle(dateStyle);
+        } else {
+            cell.setCellValue(neutralizeFormula(value.toString()));
+        }
+    }
+
+    // Spreadsheet apps evaluate text starting with one of these as a formula; the leading quote makes it plain text
+    static String neutralizeFormula(String value) {
+        if (!value.isEmpty() && FORMULA_TRIGGERS.indexOf(value.charAt(0)) >= 0) {
+            return "'" + value;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,159 @@
+package com.investbank.dealpipeline.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.investbank.dealpipeline.dto.request.CreateDealRequest;
+import com.investbank.dealpipeline.dto.response.DealImportResponse;
+import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.repository.DealRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DealImportService {
+
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    // Columns are matched by header name against CreateDealRequest; unknown columns are ignored
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT)
+            .build();
+
+    private final DealRepository dealRepository;
+    private final KafkaProducerService kafkaProducerService;
+    private final DealSummarySnapshot dealSummarySnapshot;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${deals.import.batch-size:500}")
+    private int batchSize;
+
+    public DealImportResponse importCsv(InputStream input, String userId) {
+        try {
+            return importRows(CSV_MAPPER.readerFor(CreateDealRequest.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(input), userId);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read deal import", ex);
+        }
+    }
+
+    public DealImportResponse importNdjson(InputStream input, String userId) {
+        try {
+            return importRows(objectMapper.readerFor(CreateDealRequest.class).readValues(input), userId);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read deal import", ex);
+        }
+    }
+
+    // Rows are pulled from the parser one at a time and only the current batch is held in memory.
+    // A row that fails to bind or validate is reported and skipped; the parser resyncs on the next record.
+    private DealImportResponse importRows(MappingIterator<CreateDealRequest> rows, String userId) throws IOException {
+        ImportProgress progress = new ImportProgress();
+        List<Deal> batch = new ArrayList<>(batchSize);
+
+        try (rows) {
+            while (true) {
+                CreateDealRequest request;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    request = rows.nextValue();
+                } catch (DatabindException ex) {
+                    // The record was tokenized fine but a value did not bind, e.g. text in dealValue
+                    progress.rowFailed("Unreadable row: " + ex.getOriginalMessage());
+                    continue;
+                } catch (JsonParseException ex) {
+                    // Broken framing (e.g. an unterminated JSON object) leaves nothing to resync on
+                    progress.rowFailed("Unreadable input, import stopped: " + ex.getOriginalMessage());
+                    progress.aborted = true;
+                    break;
+                }
+
+                Set<ConstraintViolation<CreateDealRequest>> violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    progress.rowFailed(violations.stream()
+                            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+
+                progress.processed++;
+                batch.add(DealService.newDeal(request, userId));
+                if (batch.size() >= batchSize) {
+                    insertBatch(batch, progress);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        insertBatch(batch, progress);
+
+        log.info("Deal import finished: processed={}, imported={}, failed={}, aborted={}",
+                progress.processed, progress.imported, progress.failed, progress.aborted);
+
+        return DealImportResponse.builder()
+                .processed(progress.processed)
+                .imported(progress.imported)
+                .failed(progress.failed)
+                .aborted(progress.aborted)
+                .errors(progress.errors)
+                .build();
+    }
+
+    private void insertBatch(List<Deal> batch, ImportProgress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<Deal> inserted = dealRepository.insert(batch);
+        dealSummarySnapshot.markStale(inserted.stream().map(Deal::getId).collect(Collectors.toList()));
+        kafkaProducerService.publishDealCreatedEvents(inserted.stream()
+                .map(DealService::dealCreatedEvent)
+                .collect(Collectors.toList()));
+
+        progress.imported += inserted.size();
+        log.info("Deal import progress: imported={}, failed={}", progress.imported, progress.failed);
+    }
+
+    private static class ImportProgress {
+        private long processed;
+        private long imported;
+        private long failed;
+        private boolean aborted;
+        private final List<DealImportResponse.RowError> errors = new ArrayList<>();
+
+        // Row numbers count every record read so far, failed or not
+        private void rowFailed(String message) {
+            processed++;
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(DealImportResponse.RowError.builder()
+                        .row(processed)
+                        .message(message)
+                        .build());
+            }
+        }
+    }
+}
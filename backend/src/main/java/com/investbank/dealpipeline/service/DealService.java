@@ -1,84 +1,122 @@
 package com.investbank.dealpipeline.service;
 
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.investbank.dealpipeline.dto.event.DealCreatedEvent;
 import com.investbank.dealpipeline.dto.event.DealStageUpdatedEvent;
+import com.investbank.dealpipeline.dto.event.DealUpdatedEvent;
 import com.investbank.dealpipeline.dto.request.AddNoteRequest;
 import com.investbank.dealpipeline.dto.request.CreateDealRequest;
+import com.investbank.dealpipeline.dto.request.DealFilterRequest;
+import com.investbank.dealpipeline.dto.request.StageTransitionRequest;
 import com.investbank.dealpipeline.dto.request.UpdateDealRequest;
+import com.investbank.dealpipeline.dto.response.BatchStageUpdateResponse;
+import com.investbank.dealpipeline.dto.response.CursorPageResponse;
 import com.investbank.dealpipeline.dto.response.DealResponse;
 import com.investbank.dealpipeline.dto.response.DealSummaryResponse;
+import com.investbank.dealpipeline.dto.response.StageTransitionResult;
 import com.investbank.dealpipeline.exception.BadRequestException;
+import com.investbank.dealpipeline.exception.ConflictException;
+import com.investbank.dealpipeline.exception.PreconditionFailedException;
 import com.investbank.dealpipeline.exception.ResourceNotFoundException;
 import com.investbank.dealpipeline.mapper.DealMapper;
 import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.model.DealNote;
 import com.investbank.dealpipeline.model.DealStage;
 import com.investbank.dealpipeline.model.Note;
 import com.investbank.dealpipeline.model.Role;
+import com.investbank.dealpipeline.repository.DealNoteRepository;
 import com.investbank.dealpipeline.repository.DealRepository;
+import com.investbank.dealpipeline.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DealService {
     
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 50;
+    private static final int MIN_SEARCH_LENGTH = 2;
+    public static final int NOTE_PREVIEW_SIZE = 20;
+    
     private final DealRepository dealRepository;
+    private final DealNoteRepository dealNoteRepository;
     private final DealMapper dealMapper;
     private final KafkaProducerService kafkaProducerService;
+    private final DealCache dealCache;
+    private final DealSummarySnapshot dealSummarySnapshot;
+    private final DealSummaryFragments dealSummaryFragments;
     
     @Transactional
     public DealResponse createDeal(CreateDealRequest request, String userId, Role userRole) {
         log.debug("Creating new deal for client: {}", request.getClientName());
         
-        Deal deal = Deal.builder()
+        Deal savedDeal = dealRepository.save(newDeal(request, userId));
+        dealSummarySnapshot.markStale(savedDeal.getId());
+        
+        // Publish Deal Created Event to Kafka
+        kafkaProducerService.publishDealCreatedEvent(dealCreatedEvent(savedDeal));
+        
+        return dealMapper.toResponse(savedDeal, userRole);
+    }
+    
+    // Shared with DealImportService so imported deals look exactly like ones created through the API
+    static Deal newDeal(CreateDealRequest request, String userId) {
+        return Deal.builder()
                 .clientName(request.getClientName())
                 .dealType(request.getDealType())
                 .sector(request.getSector())
                 .dealValue(request.getDealValue())
                 .currentStage(request.getCurrentStage())
                 .summary(request.getSummary())
-                .notes(new ArrayList<>())
                 .createdBy(userId)
                 .assignedTo(request.getAssignedTo() != null ? request.getAssignedTo() : userId)
                 .createdAt(LocalDateTime.now())
                 .build();
-        
-        Deal savedDeal = dealRepository.save(deal);
-        
-        // Publish Deal Created Event to Kafka
-        DealCreatedEvent event = DealCreatedEvent.builder()
+    }
+    
+    static DealCreatedEvent dealCreatedEvent(Deal deal) {
+        return DealCreatedEvent.builder()
                 .eventId(UUID.randomUUID().toString())
                 .eventType("DEAL_CREATED")
                 .timestamp(LocalDateTime.now())
-                .dealId(savedDeal.getId())
-                .clientName(savedDeal.getClientName())
-                .dealType(savedDeal.getDealType())
-                .sector(savedDeal.getSector())
-                .dealValue(savedDeal.getDealValue())
-                .currentStage(savedDeal.getCurrentStage().name())
-                .summary(savedDeal.getSummary())
-                .createdBy(savedDeal.getCreatedBy())
-                .assignedTo(savedDeal.getAssignedTo())
+                .dealId(deal.getId())
+                .clientName(deal.getClientName())
+                .dealType(deal.getDealType())
+                .sector(deal.getSector())
+                .dealValue(deal.getDealValue())
+                .currentStage(deal.getCurrentStage().name())
+                .summary(deal.getSummary())
+                .createdBy(deal.getCreatedBy())
+                .assignedTo(deal.getAssignedTo())
                 .build();
-        
-        kafkaProducerService.publishDealCreatedEvent(event);
-        
-        return dealMapper.toResponse(savedDeal, userRole);
     }
     
     public List<DealResponse> getAllDeals(Role userRole) {
         log.debug("Fetching all deals");
         
-        return dealRepository.findAll().stream()
+        return dealRepository.findAllForListing().stream()
                 .map(deal -> dealMapper.toResponse(deal, userRole))
                 .collect(Collectors.toList());
     }
@@ -86,124 +124,290 @@ public class DealService {
     public List<DealSummaryResponse> getAllDealsSummary() {
         log.debug("Fetching all deals summary");
         
-        return dealRepository.findAll().stream()
+        return dealRepository.findAllSummaries().stream()
                 .map(dealMapper::toSummaryResponse)
                 .collect(Collectors.toList());
     }
     
+    // Mapped lazily from an open Mongo cursor; the caller owns the stream and must close it
+    public Stream<DealResponse> streamAllDeals(Role userRole) {
+        log.debug("Streaming all deals");
+        
+        return dealRepository.streamAll()
+                .map(deal -> dealMapper.toResponse(deal, userRole));
+    }
+    
+    public CursorPageResponse<DealResponse> getDealsPage(String cursor, Integer size, Role userRole) {
+        log.debug("Fetching deals page after cursor: {}", cursor);
+        
+        int pageSize = resolvePageSize(size);
+        List<Deal> deals = dealRepository.findPage(decodeCursor(cursor), pageSize + 1);
+        return toPage(deals, pageSize, KeysetCursor::of, deal -> dealMapper.toResponse(deal, userRole));
+    }
+    
+    public CursorPageResponse<DealResponse> filterDeals(DealFilterRequest filter, String cursor, Integer size, Role userRole) {
+        log.debug("Filtering deals: {}", filter);
+        
+        if (filter.getMinValue() != null && filter.getMaxValue() != null
+                && filter.getMinValue() > filter.getMaxValue()) {
+            throw new BadRequestException("minValue cannot be greater than maxValue");
+        }
+        
+        int pageSize = resolvePageSize(size);
+        List<Deal> deals = dealRepository.findPage(filter, decodeCursor(cursor), pageSize + 1);
+        return toPage(deals, pageSize, KeysetCursor::of, deal -> dealMapper.toResponse(deal, userRole));
+    }
+    
+    // Results are the deals' cached summary JSON (see DealSummaryFragments), rendered exactly like DealSummaryResponse
+    public List<RawValue> searchDeals(String text, Integer limit) {
+        log.debug("Searching deals for: {}", text);
+        
+        String terms = text != null ? text.trim() : "";
+        if (terms.length() < MIN_SEARCH_LENGTH) {
+            throw new BadRequestException("Search text must be at least " + MIN_SEARCH_LENGTH + " characters");
+        }
+        
+        int resultLimit = limit == null ? DEFAULT_SEARCH_LIMIT : Math.min(Math.max(limit, 1), MAX_SEARCH_LIMIT);
+        
+        // Deals matching on clientName/summary rank first, then deals matched only through their notes
+        List<Deal> deals = new ArrayList<>(dealRepository.searchSummaries(terms, resultLimit));
+        if (deals.size() < resultLimit) {
+            Set<String> noteMatches = new LinkedHashSet<>(dealNoteRepository.searchDealIds(terms, resultLimit));
+            deals.forEach(deal -> noteMatches.remove(deal.getId()));
+            
+            if (!noteMatches.isEmpty()) {
+                Map<String, Deal> byId = dealRepository.findSummariesByIds(noteMatches).stream()
+                        .collect(Collectors.toMap(Deal::getId, Function.identity()));
+                noteMatches.stream()
+                        .map(byId::get)
+                        .filter(Objects::nonNull)
+                        .limit(resultLimit - deals.size())
+                        .forEach(deals::add);
+            }
+        }
+        
+        return deals.stream()
+                .map(dealSummaryFragments::rawValue)
+                .collect(Collectors.toList());
+    }
+    
+    // Items are the deals' cached summary JSON, as in searchDeals
+    public CursorPageResponse<RawValue> getDealsSummaryPage(String cursor, Integer size) {
+        log.debug("Fetching deals summary page after cursor: {}", cursor);
+        
+        int pageSize = resolvePageSize(size);
+        List<Deal> deals = dealRepository.findSummaryPage(decodeCursor(cursor), pageSize + 1);
+        return toPage(deals, pageSize, KeysetCursor::of, dealSummaryFragments::rawValue);
+    }
+    
     public DealResponse getDealById(String id, Role userRole) {
         log.debug("Fetching deal by ID: {}", id);
         
-        Deal deal = dealRepository.findById(id)
+        DealCache.CachedDeal cached = dealCache.get(id, dealId -> dealRepository.findById(dealId)
+                        .map(deal -> new DealCache.CachedDeal(deal, latestNotes(deal))))
                 .orElseThrow(() -> new ResourceNotFoundException("Deal not found with id: " + id));
         
-        return dealMapper.toResponse(deal, userRole);
+        return toDetailResponse(cached.deal(), cached.latestNotes(), userRole);
     }
     
-    @Transactional
-    public DealResponse updateDeal(String id, UpdateDealRequest request, Role userRole) {
-        log.debug("Updating deal: {}", id);
+    public CursorPageResponse<Note> getDealNotes(String id, String cursor, Integer size) {
+        log.debug("Fetching notes for deal: {} after cursor: {}", id, cursor);
         
-        Deal deal = dealRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Deal not found with id: " + id));
+        int pageSize = resolvePageSize(size);
+        List<DealNote> notes = dealNoteRepository.findPage(id, decodeCursor(cursor), pageSize + 1);
+        
+        // Only an empty page needs the extra existence check to tell "no notes" from "no deal"
+        if (notes.isEmpty() && !dealRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Deal not found with id: " + id);
+        }
         
+        return toPage(notes, pageSize, KeysetCursor::of, dealMapper::toNote);
+    }
+    
+    // Only the non-null request fields are $set, so concurrent edits to other fields are not overwritten.
+    // A non-null expectedVersion (from If-Match) additionally rejects the write if anything changed since.
+    public DealResponse updateDeal(String id, UpdateDealRequest request, Long expectedVersion, Role userRole) {
+        log.debug("Updating deal: {}", id);
+        
+        Update update = new Update();
         if (request.getClientName() != null) {
-            deal.setClientName(request.getClientName());
+            update.set("clientName", request.getClientName());
         }
         if (request.getDealType() != null) {
-            deal.setDealType(request.getDealType());
+            update.set("dealType", request.getDealType());
         }
         if (request.getSector() != null) {
-            deal.setSector(request.getSector());
+            update.set("sector", request.getSector());
         }
         if (request.getSummary() != null) {
-            deal.setSummary(request.getSummary());
+            update.set("summary", request.getSummary());
         }
         if (request.getAssignedTo() != null) {
-            deal.setAssignedTo(request.getAssignedTo());
+            update.set("assignedTo", request.getAssignedTo());
         }
+        update.set("updatedAt", LocalDateTime.now());
         
-        deal.setUpdatedAt(LocalDateTime.now());
-        Deal updatedDeal = dealRepository.save(deal);
+        Deal updatedDeal = dealRepository.updateAndGet(id, expectedVersion, update)
+                .orElseThrow(() -> writeRejected(id, expectedVersion));
+        dealChanged(id, "DEAL_UPDATED", updatedDeal.getVersion());
         
-        return dealMapper.toResponse(updatedDeal, userRole);
+        return toDetailResponse(updatedDeal, userRole);
     }
     
-    @Transactional
-    public DealResponse updateDealStage(String id, DealStage stage, Role userRole) {
+    // One findAndModify returning the pre-image: previousStage in the event is the stage this write
+    // actually replaced, and the response is that pre-image with the same changes applied
+    public DealResponse updateDealStage(String id, DealStage stage, DealStage expectedStage,
+                                        Long expectedVersion, Role userRole) {
         log.debug("Updating deal stage: {} to {}", id, stage);
         
-        Deal deal = dealRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Deal not found with id: " + id));
+        LocalDateTime now = LocalDateTime.now();
+        Deal deal = dealRepository.transitionStage(id, expectedStage, expectedVersion, stage, now)
+                .orElseThrow(() -> stageTransitionRejected(id, expectedStage, expectedVersion));
         
         DealStage previousStage = deal.getCurrentStage();
-        deal.setCurrentStage(stage);
-        deal.setUpdatedAt(LocalDateTime.now());
-        Deal updatedDeal = dealRepository.save(deal);
-        
-        // Publish Deal Stage Updated Event to Kafka
-        DealStageUpdatedEvent event = DealStageUpdatedEvent.builder()
-                .eventId(UUID.randomUUID().toString())
-                .eventType("DEAL_STAGE_UPDATED")
-                .timestamp(LocalDateTime.now())
-                .dealId(updatedDeal.getId())
-                .clientName(updatedDeal.getClientName())
-                .previousStage(previousStage.name())
-                .newStage(stage.name())
-                .updatedBy("system") // Can be enhanced to track actual user
+        Deal updatedDeal = deal.toBuilder()
+                .currentStage(stage)
+                .updatedAt(now)
+                .version(deal.getVersion() != null ? deal.getVersion() + 1 : 1L)
                 .build();
+        dealCache.evict(id);
+        dealSummarySnapshot.markStale(id);
         
-        kafkaProducerService.publishDealStageUpdatedEvent(event);
+        // Publish Deal Stage Updated Event to Kafka
+        kafkaProducerService.publishDealStageUpdatedEvent(stageUpdatedEvent(updatedDeal, previousStage, stage));
         
-        return dealMapper.toResponse(updatedDeal, userRole);
+        return toDetailResponse(updatedDeal, userRole);
     }
     
-    @Transactional
-    public DealResponse updateDealValue(String id, Long dealValue, Role userRole) {
+    public DealResponse updateDealValue(String id, Long dealValue, Long expectedVersion, Role userRole) {
         log.debug("Updating deal value: {} to {}", id, dealValue);
         
         if (userRole != Role.ADMIN) {
             throw new BadRequestException("Only ADMIN can update deal value");
         }
         
-        Deal deal = dealRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Deal not found with id: " + id));
+        Update update = new Update()
+                .set("dealValue", dealValue)
+                .set("updatedAt", LocalDateTime.now());
+        Deal updatedDeal = dealRepository.updateAndGet(id, expectedVersion, update)
+                .orElseThrow(() -> writeRejected(id, expectedVersion));
+        dealChanged(id, "DEAL_UPDATED", updatedDeal.getVersion());
+        
+        return toDetailResponse(updatedDeal, userRole);
+    }
+    
+    // Reads every deal once, moves the eligible ones in one unordered bulk write guarded on the stage that
+    // was read, and re-reads only if some writes lost a race. Results come back in request order.
+    public BatchStageUpdateResponse updateDealStages(List<StageTransitionRequest> transitions) {
+        log.debug("Updating stages of {} deals", transitions.size());
+        
+        Set<String> ids = new LinkedHashSet<>();
+        for (StageTransitionRequest transition : transitions) {
+            if (!ids.add(transition.getDealId())) {
+                throw new BadRequestException("Deal " + transition.getDealId() + " appears more than once in the batch");
+            }
+        }
+        
+        // Truncated to what Mongo stores, so the verification read can recognise this batch's writes
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Map<String, Deal> before = dealRepository.findStagesByIds(ids).stream()
+                .collect(Collectors.toMap(Deal::getId, Function.identity()));
+        
+        Map<String, StageTransitionResult> results = new LinkedHashMap<>();
+        List<StageTransitionRequest> moves = new ArrayList<>();
+        for (StageTransitionRequest transition : transitions) {
+            String dealId = transition.getDealId();
+            Deal deal = before.get(dealId);
+            if (deal == null) {
+                results.put(dealId, transitionResult(dealId, StageTransitionResult.Status.NOT_FOUND, null, null));
+            } else if (transition.getExpectedStage() != null && transition.getExpectedStage() != deal.getCurrentStage()) {
+                results.put(dealId, transitionResult(dealId, StageTransitionResult.Status.CONFLICT,
+                        deal.getCurrentStage(), deal.getCurrentStage()));
+            } else if (transition.getStage() == deal.getCurrentStage()) {
+                results.put(dealId, transitionResult(dealId, StageTransitionResult.Status.UNCHANGED,
+                        deal.getCurrentStage(), deal.getCurrentStage()));
+            } else {
+                moves.add(StageTransitionRequest.builder()
+                        .dealId(dealId)
+                        .stage(transition.getStage())
+                        .expectedStage(deal.getCurrentStage())
+                        .build());
+                results.put(dealId, transitionResult(dealId, StageTransitionResult.Status.APPLIED,
+                        deal.getCurrentStage(), transition.getStage()));
+            }
+        }
+        
+        int moved = moves.isEmpty() ? 0 : dealRepository.transitionStages(moves, now);
+        List<String> movedIds = moves.stream().map(StageTransitionRequest::getDealId).collect(Collectors.toList());
+        dealCache.evictAll(movedIds);
+        dealSummarySnapshot.markStale(movedIds);
         
-        deal.setDealValue(dealValue);
-        deal.setUpdatedAt(LocalDateTime.now());
-        Deal updatedDeal = dealRepository.save(deal);
+        if (moved < moves.size()) {
+            Map<String, Deal> after = dealRepository.findStagesByIds(
+                            moves.stream().map(StageTransitionRequest::getDealId).collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.toMap(Deal::getId, Function.identity()));
+            
+            for (StageTransitionRequest move : moves) {
+                Deal deal = after.get(move.getDealId());
+                boolean written = deal != null && deal.getCurrentStage() == move.getStage() && now.equals(deal.getUpdatedAt());
+                if (!written) {
+                    results.put(move.getDealId(), deal == null
+                            ? transitionResult(move.getDealId(), StageTransitionResult.Status.NOT_FOUND, null, null)
+                            : transitionResult(move.getDealId(), StageTransitionResult.Status.CONFLICT,
+                                    move.getExpectedStage(), deal.getCurrentStage()));
+                }
+            }
+        }
+        
+        List<DealStageUpdatedEvent> events = results.values().stream()
+                .filter(result -> result.getStatus() == StageTransitionResult.Status.APPLIED)
+                .map(result -> stageUpdatedEvent(before.get(result.getDealId()), result.getPreviousStage(), result.getCurrentStage()))
+                .collect(Collectors.toList());
+        kafkaProducerService.publishDealStageUpdatedEvents(events);
         
-        return dealMapper.toResponse(updatedDeal, userRole);
+        return BatchStageUpdateResponse.builder()
+                .requested(transitions.size())
+                .applied(events.size())
+                .results(new ArrayList<>(results.values()))
+                .build();
     }
     
-    @Transactional
+    // The note goes to deal_notes; the deal itself only gets its counter and last-note preview bumped
     public DealResponse addNote(String id, AddNoteRequest request, String userId, Role userRole) {
         log.debug("Adding note to deal: {}", id);
         
-        Deal deal = dealRepository.findById(id)
+        Note note = buildNote(request, userId);
+        Deal updatedDeal = dealRepository.updateAndGet(id, noteAddedUpdate(note))
                 .orElseThrow(() -> new ResourceNotFoundException("Deal not found with id: " + id));
+        dealNoteRepository.insert(toDealNote(id, note));
+        dealChanged(id, "DEAL_NOTE_ADDED", updatedDeal.getVersion());
         
-        Note note = Note.builder()
-                .userId(userId)
-                .note(request.getNote())
-                .timestamp(LocalDateTime.now())
-                .build();
+        return toDetailResponse(updatedDeal, userRole);
+    }
+    
+    // Same writes as addNote, but the deal is not read back; only the appended note is returned
+    public Note appendNote(String id, AddNoteRequest request, String userId) {
+        log.debug("Appending note to deal: {}", id);
         
-        deal.getNotes().add(note);
-        deal.setUpdatedAt(LocalDateTime.now());
-        Deal updatedDeal = dealRepository.save(deal);
+        Note note = buildNote(request, userId);
+        if (!dealRepository.updateById(id, noteAddedUpdate(note))) {
+            throw new ResourceNotFoundException("Deal not found with id: " + id);
+        }
+        dealNoteRepository.insert(toDealNote(id, note));
+        dealChanged(id, "DEAL_NOTE_ADDED", null);
         
-        return dealMapper.toResponse(updatedDeal, userRole);
+        return note;
     }
     
-    @Transactional
-    public void deleteDeal(String id) {
+    public void deleteDeal(String id, Long expectedVersion) {
         log.debug("Deleting deal: {}", id);
         
-        Deal deal = dealRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Deal not found with id: " + id));
-        
-        dealRepository.delete(deal);
+        if (!dealRepository.removeById(id, expectedVersion)) {
+            throw writeRejected(id, expectedVersion);
+        }
+        dealNoteRepository.deleteByDealId(id);
+        dealChanged(id, "DEAL_DELETED", null);
     }
     
     public List<DealResponse> getDealsByStage(DealStage stage, Role userRole) {
@@ -213,4 +417,138 @@ public class DealService {
                 .map(deal -> dealMapper.toResponse(deal, userRole))
                 .collect(Collectors.toList());
     }
+    
+    // A conditional write that matched nothing either lost the race or targeted a missing deal
+    private RuntimeException writeRejected(String id, Long expectedVersion) {
+        if (expectedVersion != null && dealRepository.existsById(id)) {
+            return new PreconditionFailedException("Deal " + id + " has been modified since version " + expectedVersion);
+        }
+        return new ResourceNotFoundException("Deal not found with id: " + id);
+    }
+    
+    // Only reached when the guarded move matched nothing, so the extra read is off the happy path
+    private RuntimeException stageTransitionRejected(String id, DealStage expectedStage, Long expectedVersion) {
+        Deal current = dealRepository.findById(id).orElse(null);
+        if (current == null) {
+            return new ResourceNotFoundException("Deal not found with id: " + id);
+        }
+        if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+            return new PreconditionFailedException("Deal " + id + " has been modified since version " + expectedVersion);
+        }
+        return new ConflictException("Deal " + id + " is in stage " + current.getCurrentStage()
+                + ", expected " + expectedStage);
+    }
+    
+    // Drops this instance's cached copies right away; the event tells the other replicas to do the same
+    private void dealChanged(String id, String eventType, Long version) {
+        dealCache.evict(id);
+        dealSummarySnapshot.markStale(id);
+        kafkaProducerService.publishDealUpdatedEvent(DealUpdatedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(eventType)
+                .timestamp(LocalDateTime.now())
+                .dealId(id)
+                .version(version)
+                .build());
+    }
+    
+    private DealStageUpdatedEvent stageUpdatedEvent(Deal deal, DealStage previousStage, DealStage newStage) {
+        return DealStageUpdatedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType("DEAL_STAGE_UPDATED")
+                .timestamp(LocalDateTime.now())
+                .dealId(deal.getId())
+                .clientName(deal.getClientName())
+                .previousStage(previousStage.name())
+                .newStage(newStage.name())
+                .updatedBy("system") // Can be enhanced to track actual user
+                .build();
+    }
+    
+    private StageTransitionResult transitionResult(String dealId, StageTransitionResult.Status status,
+                                                   DealStage previousStage, DealStage currentStage) {
+        return StageTransitionResult.builder()
+                .dealId(dealId)
+                .status(status)
+                .previousStage(previousStage)
+                .currentStage(currentStage)
+                .build();
+    }
+    
+    private Note buildNote(AddNoteRequest request, String userId) {
+        return Note.builder()
+                .userId(userId)
+                .note(request.getNote())
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+    
+    private DealNote toDealNote(String dealId, Note note) {
+        return DealNote.builder()
+                .dealId(dealId)
+                .userId(note.getUserId())
+                .note(note.getNote())
+                .timestamp(note.getTimestamp())
+                .build();
+    }
+    
+    private Update noteAddedUpdate(Note note) {
+        return new Update()
+                .inc("noteCount", 1)
+                .set("lastNote", note)
+                .set("updatedAt", note.getTimestamp());
+    }
+    
+    // Single-deal responses carry the notes preview, so a client replacing its copy with one keeps the timeline
+    private DealResponse toDetailResponse(Deal deal, Role userRole) {
+        return toDetailResponse(deal, latestNotes(deal), userRole);
+    }
+    
+    private DealResponse toDetailResponse(Deal deal, List<Note> notes, Role userRole) {
+        DealResponse response = dealMapper.toResponse(deal, userRole);
+        response.setNotes(notes);
+        return response;
+    }
+    
+    // Most recent notes for the detail view, oldest first like the timeline renders them. Unmodifiable because
+    // getDealById caches the list alongside the deal.
+    private List<Note> latestNotes(Deal deal) {
+        if (deal.getNoteCount() == 0) {
+            return Collections.emptyList();
+        }
+        
+        List<Note> notes = dealNoteRepository.findPage(deal.getId(), null, NOTE_PREVIEW_SIZE).stream()
+                .map(dealMapper::toNote)
+                .collect(Collectors.toList());
+        Collections.reverse(notes);
+        return Collections.unmodifiableList(notes);
+    }
+    
+    // Callers read one row past the page size so the extra row signals whether another page exists
+    private <E, T> CursorPageResponse<T> toPage(List<E> rows, int pageSize,
+                                                Function<E, KeysetCursor> cursorOf, Function<E, T> mapper) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        
+        return CursorPageResponse.<T>builder()
+                .items(pageRows.stream().map(mapper).collect(Collectors.toList()))
+                .size(pageRows.size())
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? cursorOf.apply(pageRows.get(pageRows.size() - 1)).encode() : null)
+                .build();
+    }
+    
+    private KeysetCursor decodeCursor(String cursor) {
+        return cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+    }
+    
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
 }
@@ -0,0 +1,90 @@
+package com.investbank.dealpipeline.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.investbank.dealpipeline.mapper.DealMapper;
+import com.investbank.dealpipeline.model.Deal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collection;
+
+// Each deal's DealSummaryResponse JSON, rendered once per deal version and reused by every list that contains it.
+// Every write bumps the deal's @Version, so (id, version) always identifies the same JSON and entries never need
+// invalidating; superseded versions simply age out of the size bound.
+@Component
+public class DealSummaryFragments {
+
+    public static final String CACHE_NAME = "deal-summary-fragments";
+
+    private record Key(String id, long version) {
+    }
+
+    private final DealMapper dealMapper;
+    private final ObjectMapper objectMapper;
+
+    // SerializedString keeps the UTF-8 bytes alongside the text, and Jackson copies them straight into its buffer
+    private final Cache<Key, SerializedString> cache;
+
+    public DealSummaryFragments(DealMapper dealMapper, ObjectMapper objectMapper,
+                                @Value("${deals.summary-fragments.max-size:50000}") long maxSize,
+                                MeterRegistry meterRegistry) {
+        this.dealMapper = dealMapper;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // Embeds the deal's summary JSON as-is when the enclosing response is written by Jackson
+    public RawValue rawValue(Deal deal) {
+        return new RawValue(fragment(deal));
+    }
+
+    public SerializableString fragment(Deal deal) {
+        // Deals written before versioning was introduced have nothing stable to key on
+        if (deal.getVersion() == null) {
+            return render(deal);
+        }
+        return cache.get(new Key(deal.getId(), deal.getVersion()), key -> render(deal));
+    }
+
+    // A JSON array of the fragments, built by plain byte copies
+    public static byte[] toJsonArray(Collection<? extends SerializableString> fragments) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(fragments.size() * 256 + 2);
+        output.write('[');
+        boolean first = true;
+        for (SerializableString fragment : fragments) {
+            if (!first) {
+                output.write(',');
+            }
+            output.writeBytes(fragment.asUnquotedUTF8());
+            first = false;
+        }
+        output.write(']');
+        return output.toByteArray();
+    }
+
+    private SerializedString render(Deal deal) {
+        try {
+            SerializedString fragment = new SerializedString(
+                    objectMapper.writeValueAsString(dealMapper.toSummaryResponse(deal)));
+            // Encode now so concurrent readers never race to encode it themselves
+            fragment.asUnquotedUTF8();
+            return fragment;
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize summary of deal " + deal.getId(), ex);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.investbank.dealpipeline.service;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.repository.DealRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// The /api/deals/summary list kept in memory as ready-to-send JSON. Writes only mark their deal as stale;
+// the next read re-fetches just those deals, patches the list and stitches it together once for every reader after it.
+// Readers never queue behind a refresh: while one request refreshes, the others get the previous snapshot.
+// Local writes are marked by DealService and DealImportService, other replicas' writes by KafkaConsumerService.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DealSummarySnapshot {
+
+    // body is shared between requests and must not be modified; summaries holds the same deals as separate
+    // fragments for responses that are not written as plain JSON
+    public record Snapshot(long version, byte[] body, String eTag, Instant loadedAt,
+                           List<SerializableString> summaries) {
+    }
+
+    private final DealRepository dealRepository;
+    private final DealSummaryFragments dealSummaryFragments;
+
+    // A full reload after this long bounds the damage of a missed eviction event
+    @Value("${deals.summary-snapshot.max-age:10m}")
+    private Duration maxAge;
+
+    private final Set<String> staleIds = ConcurrentHashMap.newKeySet();
+
+    // A lock rather than synchronized: refreshes read from Mongo, and a virtual thread blocked inside
+    // a synchronized block would pin its carrier thread
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    // Guarded by refreshLock; kept in the order Mongo returned the deals, new deals are appended
+    private final Map<String, SerializableString> summaries = new LinkedHashMap<>();
+
+    private volatile Snapshot current;
+
+    public Snapshot current() {
+        Snapshot snapshot = current;
+        if (snapshot == null) {
+            return loadInitial();
+        }
+        if ((staleIds.isEmpty() && !expired(snapshot)) || !refreshLock.tryLock()) {
+            // Requests arriving while another one refreshes are served the snapshot already held
+            return snapshot;
+        }
+        try {
+            return refreshLocked();
+        } catch (RuntimeException ex) {
+            log.warn("Could not refresh the deal summary snapshot, keeping version {}: {}",
+                    snapshot.version(), ex.getMessage());
+            return snapshot;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Call after the write has reached Mongo, otherwise the re-read can pick up the old document
+    public void markStale(String id) {
+        if (id != null) {
+            staleIds.add(id);
+        }
+    }
+
+    public void markStale(Collection<String> ids) {
+        staleIds.addAll(ids);
+    }
+
+    // There is nothing to serve before the first load, so requests wait for it
+    private Snapshot loadInitial() {
+        refreshLock.lock();
+        try {
+            return refreshLocked();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Snapshot refreshLocked() {
+        Snapshot snapshot = current;
+        boolean reload = snapshot == null || expired(snapshot);
+        if (!reload && staleIds.isEmpty()) {
+            // Another request loaded or refreshed it before this one got the lock
+            return snapshot;
+        }
+
+        // Drained before reading so that ids marked during the read are picked up by the next refresh
+        List<String> ids = new ArrayList<>(staleIds);
+        staleIds.removeAll(ids);
+
+        Instant loadedAt;
+        byte[] body;
+        try {
+            if (reload) {
+                summaries.clear();
+                dealRepository.findAllSummaries()
+                        .forEach(deal -> summaries.put(deal.getId(), dealSummaryFragments.fragment(deal)));
+                loadedAt = Instant.now();
+                log.debug("Loaded deal summary snapshot with {} deals", summaries.size());
+            } else {
+                Map<String, Deal> fresh = dealRepository.findSummariesByIds(ids).stream()
+                        .collect(Collectors.toMap(Deal::getId, Function.identity()));
+                for (String id : ids) {
+                    Deal deal = fresh.get(id);
+                    if (deal == null) {
+                        summaries.remove(id);
+                    } else {
+                        summaries.put(id, dealSummaryFragments.fragment(deal));
+                    }
+                }
+                loadedAt = snapshot.loadedAt();
+                log.debug("Patched {} deals into the summary snapshot", ids.size());
+            }
+
+            // Only deals whose version changed are serialized again; the rest are byte copies
+            body = DealSummaryFragments.toJsonArray(summaries.values());
+        } catch (RuntimeException ex) {
+            // Keep the ids for the next attempt
+            staleIds.addAll(ids);
+            throw ex;
+        }
+
+        // Derived from the bytes rather than the version, so every replica serving the same list issues the same tag
+        current = new Snapshot(snapshot == null ? 1 : snapshot.version() + 1, body,
+                DigestUtils.md5DigestAsHex(body), loadedAt, List.copyOf(summaries.values()));
+        return current;
+    }
+
+    private boolean expired(Snapshot snapshot) {
+        return snapshot.loadedAt().plus(maxAge).isBefore(Instant.now());
+    }
+}
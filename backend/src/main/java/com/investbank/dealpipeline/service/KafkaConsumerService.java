@@ -1,13 +1,31 @@
 package com.investbank.dealpipeline.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.investbank.dealpipeline.dto.event.TokenRevokedEvent;
+import com.investbank.dealpipeline.dto.event.UserStatusChangedEvent;
+import com.investbank.dealpipeline.security.RevokedTokens;
+import com.investbank.dealpipeline.security.TokenEpochs;
+import com.investbank.dealpipeline.security.UserDetailsServiceImpl;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class KafkaConsumerService {
     
+    private final DealCache dealCache;
+    private final DealSummarySnapshot dealSummarySnapshot;
+    private final TokenEpochs tokenEpochs;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final RevokedTokens revokedTokens;
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    
     
      // Kafka consumer that listens to deal-events topic and logs all events
      // This demonstrates the event-driven architecture for deal lifecycle tracking
@@ -25,4 +43,45 @@ public class KafkaConsumerService {
         // - Audit logging to separate database
         // - Integration with external systems
     }
+    
+    
+     // Every replica has to see every event to keep its deal caches coherent, so this listener
+     // joins a consumer group of its own per instance and only reads events published after startup.
+     // Deal events are keyed by deal id, so the payload does not need to be parsed. User status events
+     // reload the token epochs from Mongo rather than trusting the order in which they arrive, and drop the
+     // cached users outright: user changes are rare and the event is keyed by id, not by username. Token
+     // revocations carry everything needed in the payload; a payload that cannot be read falls back to a reload.
+     
+    @KafkaListener(topics = "${kafka.topic.deal-events}",
+            groupId = "${kafka.consumer.group-id}-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void evictCachedEntry(ConsumerRecord<String, String> record) {
+        if (record.key() != null && record.key().startsWith(UserStatusChangedEvent.KEY_PREFIX)) {
+            log.debug("Reloading token epochs after event: key={}", record.key());
+            tokenEpochs.reload();
+            userDetailsService.evictAll();
+            return;
+        }
+        
+        if (record.key() != null && record.key().startsWith(TokenRevokedEvent.KEY_PREFIX)) {
+            applyTokenRevocation(record);
+            return;
+        }
+        
+        log.debug("Evicting cached deal after event: dealId={}", record.key());
+        dealCache.evict(record.key());
+        dealSummarySnapshot.markStale(record.key());
+    }
+    
+    private void applyTokenRevocation(ConsumerRecord<String, String> record) {
+        try {
+            TokenRevokedEvent event = objectMapper.readValue(record.value(), TokenRevokedEvent.class);
+            log.debug("Revoking token after event: key={}", record.key());
+            revokedTokens.add(event.getTokenId(), event.getExpiresAt());
+        } catch (JsonProcessingException e) {
+            log.warn("Could not read Token Revoked Event, reloading revoked tokens: key={}, error={}", 
+                    record.key(), e.getMessage());
+            revokedTokens.reload();
+        }
+    }
 }
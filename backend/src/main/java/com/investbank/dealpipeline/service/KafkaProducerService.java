@@ -5,6 +5,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.investbank.dealpipeline.dto.event.DealCreatedEvent;
 import com.investbank.dealpipeline.dto.event.DealStageUpdatedEvent;
+import com.investbank.dealpipeline.dto.event.DealUpdatedEvent;
+import com.investbank.dealpipeline.dto.event.TokenRevokedEvent;
+import com.investbank.dealpipeline.dto.event.UserStatusChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,6 +15,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 @Service
@@ -82,4 +86,112 @@ public class KafkaProducerService {
                     event.getDealId(), e.getMessage(), e);
         }
     }
+    
+    
+    // Publish Deal Updated Event to Kafka (field edits, notes and deletes)
+    public void publishDealUpdatedEvent(DealUpdatedEvent event) {
+        try {
+            String eventJson = objectMapper.writeValueAsString(event);
+            
+            CompletableFuture<SendResult<String, String>> future = 
+                kafkaTemplate.send(dealEventsTopic, event.getDealId(), eventJson);
+            
+            future.whenComplete((result, ex) -> {
+                if (ex == null) {
+                    log.info("Deal Updated Event published successfully: dealId={}, type={}, topic={}, partition={}, offset={}", 
+                            event.getDealId(),
+                            event.getEventType(),
+                            dealEventsTopic,
+                            result.getRecordMetadata().partition(),
+                            result.getRecordMetadata().offset());
+                } else {
+                    log.error("Failed to publish Deal Updated Event: dealId={}, error={}", 
+                            event.getDealId(), ex.getMessage(), ex);
+                }
+            });
+            
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing Deal Updated Event: dealId={}, error={}", 
+                    event.getDealId(), e.getMessage(), e);
+        }
+    }
+    
+    
+    // Publish User Status Changed Event to Kafka, keyed so that every replica's cache listener sees it
+    public void publishUserStatusChangedEvent(UserStatusChangedEvent event) {
+        try {
+            String eventJson = objectMapper.writeValueAsString(event);
+            
+            CompletableFuture<SendResult<String, String>> future = 
+                kafkaTemplate.send(dealEventsTopic, UserStatusChangedEvent.KEY_PREFIX + event.getUserId(), eventJson);
+            
+            future.whenComplete((result, ex) -> {
+                if (ex == null) {
+                    log.info("User Status Changed Event published successfully: userId={}, type={}, topic={}, partition={}, offset={}", 
+                            event.getUserId(),
+                            event.getEventType(),
+                            dealEventsTopic,
+                            result.getRecordMetadata().partition(),
+                            result.getRecordMetadata().offset());
+                } else {
+                    log.error("Failed to publish User Status Changed Event: userId={}, error={}", 
+                            event.getUserId(), ex.getMessage(), ex);
+                }
+            });
+            
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing User Status Changed Event: userId={}, error={}", 
+                    event.getUserId(), e.getMessage(), e);
+        }
+    }
+    
+    
+    // Publish Token Revoked Event to Kafka, keyed so that every replica's cache listener sees it
+    public void publishTokenRevokedEvent(TokenRevokedEvent event) {
+        try {
+            String eventJson = objectMapper.writeValueAsString(event);
+            
+            CompletableFuture<SendResult<String, String>> future = 
+                kafkaTemplate.send(dealEventsTopic, TokenRevokedEvent.KEY_PREFIX + event.getTokenId(), eventJson);
+            
+            future.whenComplete((result, ex) -> {
+                if (ex == null) {
+                    log.info("Token Revoked Event published successfully: userId={}, topic={}, partition={}, offset={}", 
+                            event.getUserId(),
+                            dealEventsTopic,
+                            result.getRecordMetadata().partition(),
+                            result.getRecordMetadata().offset());
+                } else {
+                    log.error("Failed to publish Token Revoked Event: userId={}, error={}", 
+                            event.getUserId(), ex.getMessage(), ex);
+                }
+            });
+            
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing Token Revoked Event: userId={}, error={}", 
+                    event.getUserId(), e.getMessage(), e);
+        }
+    }
+    
+    
+    // Publish a batch of Deal Created Events; the sends share producer batches and are flushed once
+    public void publishDealCreatedEvents(List<DealCreatedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        
+        events.forEach(this::publishDealCreatedEvent);
+        kafkaTemplate.flush();
+    }
+    
+    
+    // Publish a batch of Deal Stage Updated Events; the sends share producer batches and are flushed once
+    public void publishDealStageUpdatedEvents(List<DealStageUpdatedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        
+        events.forEach(this::publishDealStageUpdatedEvent);
+        kafkaTemplate.flush();
+    }
 }
@@ -1,16 +1,21 @@
 package com.investbank.dealpipeline.service;
 
+import com.investbank.dealpipeline.dto.event.UserStatusChangedEvent;
 import com.investbank.dealpipeline.dto.response.UserResponse;
 import com.investbank.dealpipeline.exception.ResourceNotFoundException;
 import com.investbank.dealpipeline.mapper.UserMapper;
 import com.investbank.dealpipeline.model.User;
 import com.investbank.dealpipeline.repository.UserRepository;
+import com.investbank.dealpipeline.security.TokenEpochs;
+import com.investbank.dealpipeline.security.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,6 +25,9 @@ public class UserService {
     
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final TokenEpochs tokenEpochs;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final KafkaProducerService kafkaProducerService;
     
     public UserResponse getUserById(String id) {
         log.debug("Fetching user by ID: {}", id);
@@ -42,7 +50,7 @@ public class UserService {
     public List<UserResponse> getAllUsers() {
         log.debug("Fetching all users");
         
-        return userRepository.findAll().stream()
+        return userRepository.findAllForListing().stream()
                 .map(userMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -54,9 +62,27 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         
+        // Deactivation revokes every token issued so far; reactivated users have to log in again
+        boolean deactivated = user.isActive() && !active;
         user.setActive(active);
+        if (deactivated) {
+            user.setTokenEpoch(user.getTokenEpoch() + 1);
+        }
         User updatedUser = userRepository.save(user);
         
+        userDetailsService.evict(updatedUser.getUsername());
+        if (deactivated) {
+            tokenEpochs.advance(updatedUser.getId(), updatedUser.getTokenEpoch());
+        }
+        kafkaProducerService.publishUserStatusChangedEvent(UserStatusChangedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(active ? "USER_ACTIVATED" : "USER_DEACTIVATED")
+                .timestamp(LocalDateTime.now())
+                .userId(updatedUser.getId())
+                .active(active)
+                .tokenEpoch(updatedUser.getTokenEpoch())
+                .build());
+        
         return userMapper.toResponse(updatedUser);
     }
 }
@@ -0,0 +1,45 @@
+package com.investbank.dealpipeline.util;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+// Blocking reads through a Caffeine AsyncCache, shared by DealCache and UserDetailsServiceImpl. The loader runs
+// on the calling thread and outside the map's lock, so a virtual thread waiting on Mongo does not pin its carrier.
+public final class AsyncCaches {
+
+    private AsyncCaches() {
+    }
+
+    // Concurrent misses for the same key share one load, and an invalidation during the load drops its result.
+    // A null result or a failed load is not cached.
+    public static <K, V> V getOrLoad(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> cached = cache.getIfPresent(key);
+        if (cached == null) {
+            CompletableFuture<V> loading = new CompletableFuture<>();
+            cached = cache.asMap().putIfAbsent(key, loading);
+            if (cached == null) {
+                // Completing with null or an exception drops the entry again
+                try {
+                    loading.complete(loader.apply(key));
+                } catch (RuntimeException ex) {
+                    loading.completeExceptionally(ex);
+                    throw ex;
+                }
+                cached = loading;
+            }
+        }
+
+        try {
+            return cached.join();
+        } catch (CompletionException ex) {
+            // Another caller's load failed; surface its exception as if this one had loaded
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
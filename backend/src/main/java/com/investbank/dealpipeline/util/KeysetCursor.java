@@ -0,0 +1,53 @@
+package com.investbank.dealpipeline.util;
+
+import com.investbank.dealpipeline.exception.BadRequestException;
+import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.model.DealNote;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Opaque keyset position for pages sorted by (timestamp desc, _id desc): updatedAt for deals,
+// the note timestamp for deal notes. Encoded as URL-safe base64 so clients treat it as a token.
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime timestamp;
+    private final String id;
+
+    public static KeysetCursor of(Deal deal) {
+        return new KeysetCursor(deal.getUpdatedAt(), deal.getId());
+    }
+
+    public static KeysetCursor of(DealNote note) {
+        return new KeysetCursor(note.getTimestamp(), note.getId());
+    }
+
+    public String encode() {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+
+            LocalDateTime timestamp = LocalDateTime.parse(raw.substring(0, separator));
+            return new KeysetCursor(timestamp, raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.investbank.dealpipeline.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Closed-loop load against a running backend: each of `connections` clients sends its next request as soon as
+// the previous one completes, so throughput is bounded by the server rather than by an arrival rate.
+// Compare runs with VIRTUAL_THREADS_ENABLED=false and true (the latter on a Java 21 build):
+//   mvn -Ploadtest test-compile exec:exec -Dloadtest.args="connections=2000 duration=60s path=/api/deals/page?size=50"
+public class DealApiLoadDriver {
+
+    private final String baseUrl;
+    private final String path;
+    private final int connections;
+    private final Duration warmup;
+    private final Duration duration;
+    private final HttpClient client;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Timer latency;
+    private final LongAdder completed = new LongAdder();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+    private volatile boolean recording;
+    private volatile boolean stopping;
+    private String token;
+
+    DealApiLoadDriver(Map<String, String> options) {
+        this.baseUrl = options.getOrDefault("url", "http://localhost:8080");
+        this.path = options.getOrDefault("path", "/api/deals/page?size=50");
+        this.connections = Integer.parseInt(options.getOrDefault("connections", "2000"));
+        this.warmup = Duration.parse("PT" + options.getOrDefault("warmup", "15s"));
+        this.duration = Duration.parse("PT" + options.getOrDefault("duration", "60s"));
+        // One HTTP/1.1 connection per in-flight request
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.latency = Timer.builder("loadtest.latency")
+                .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+                .distributionStatisticExpiry(duration.plus(warmup).multipliedBy(2))
+                .register(registry);
+
+        login(options.getOrDefault("username", "user1"), options.getOrDefault("password", "user123"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        new DealApiLoadDriver(options).run();
+    }
+
+    private void login(String username, String password) {
+        try {
+            String body = new ObjectMapper().writeValueAsString(Map.of("username", username, "password", password));
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+            }
+            token = new ObjectMapper().readTree(response.body()).get("token").asText();
+        } catch (Exception ex) {
+            throw new IllegalStateException("Could not log in to " + baseUrl, ex);
+        }
+    }
+
+    private void run() throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        System.out.printf("GET %s with %d connections, %ds warmup, %ds measured%n",
+                path, connections, warmup.toSeconds(), duration.toSeconds());
+
+        CountDownLatch drained = new CountDownLatch(connections);
+        for (int i = 0; i < connections; i++) {
+            next(request, drained);
+        }
+
+        Thread.sleep(warmup.toMillis());
+        recording = true;
+        long started = System.nanoTime();
+        Thread.sleep(duration.toMillis());
+        recording = false;
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        stopping = true;
+        drained.await(90, TimeUnit.SECONDS);
+        report(elapsedSeconds);
+    }
+
+    private void next(HttpRequest request, CountDownLatch drained) {
+        if (stopping) {
+            drained.countDown();
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, ex) -> {
+                    if (recording) {
+                        if (ex != null) {
+                            failure(ex.getClass().getSimpleName());
+                        } else if (response.statusCode() >= 400) {
+                            failure("HTTP " + response.statusCode());
+                        } else {
+                            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                            completed.increment();
+                        }
+                    }
+                    next(request, drained);
+                });
+    }
+
+    private void failure(String reason) {
+        failures.computeIfAbsent(reason, key -> new LongAdder()).increment();
+    }
+
+    private void report(double elapsedSeconds) {
+        HistogramSnapshot snapshot = latency.takeSnapshot();
+        System.out.printf("%nCompleted: %d requests, %.1f req/s%n", completed.sum(), completed.sum() / elapsedSeconds);
+        System.out.printf("Latency: mean %.1f ms, max %.1f ms%n",
+                snapshot.mean(TimeUnit.MILLISECONDS), snapshot.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            System.out.printf("  p%.1f: %.1f ms%n", percentile.percentile() * 100, percentile.value(TimeUnit.MILLISECONDS));
+        }
+        if (!failures.isEmpty()) {
+            System.out.println("Failures:");
+            for (Entry<String, LongAdder> entry : new TreeMap<>(failures).entrySet()) {
+                System.out.printf("  %s: %d%n", entry.getKey(), entry.getValue().sum());
+            }
+        }
+    }
+}
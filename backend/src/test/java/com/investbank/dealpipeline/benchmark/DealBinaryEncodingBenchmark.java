@@ -0,0 +1,116 @@
+package com.investbank.dealpipeline.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.investbank.dealpipeline.dto.response.DealResponse;
+import com.investbank.dealpipeline.model.DealStage;
+import com.investbank.dealpipeline.model.Note;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Encode and decode time of a page of DealResponse in each encoding offered by content negotiation.
+// Payload sizes, raw and gzipped (JSON responses are compressed by the server), are printed once per trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DealBinaryEncodingBenchmark {
+
+    private static final TypeReference<List<DealResponse>> DEAL_LIST = new TypeReference<>() { };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"1000"})
+    private int deals;
+
+    private ObjectMapper mapper;
+    private List<DealResponse> page;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        // Configured like the application's ObjectMapper (spring.jackson.* in application.yml)
+        mapper = new ObjectMapper(factory)
+                .findAndRegisterModules()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        page = new ArrayList<>(deals);
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+        DealStage[] stages = DealStage.values();
+        for (int i = 0; i < deals; i++) {
+            Note lastNote = Note.builder()
+                    .userId("user" + (i % 10))
+                    .note("Management presentation scheduled, data room opens next week")
+                    .timestamp(updatedAt.minusHours(i))
+                    .build();
+            page.add(DealResponse.builder()
+                    .id(String.format("65a5%020d", i))
+                    .clientName("Client " + i)
+                    .dealType(i % 2 == 0 ? "M&A" : "IPO")
+                    .sector("Technology")
+                    .dealValue(25_000_000L + i * 1_000L)
+                    .currentStage(stages[i % stages.length])
+                    .summary("Cross-border acquisition of a mid-cap software vendor, financing in place " + i)
+                    .noteCount((long) i % 12)
+                    .lastNote(lastNote)
+                    .createdBy("user" + (i % 10))
+                    .assignedTo("user" + (i % 7))
+                    .createdAt(updatedAt.minusDays(i))
+                    .updatedAt(updatedAt.minusMinutes(i))
+                    .version((long) i % 7)
+                    .build());
+        }
+
+        encoded = mapper.writeValueAsBytes(page);
+        System.out.printf("%n%s, %d deals: %d bytes, %d bytes gzipped%n", format, deals, encoded.length, gzipped(encoded));
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<DealResponse> decode() throws IOException {
+        return mapper.readValue(encoded, DEAL_LIST);
+    }
+
+    private static int gzipped(byte[] bytes) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(bytes);
+        }
+        return output.size();
+    }
+}
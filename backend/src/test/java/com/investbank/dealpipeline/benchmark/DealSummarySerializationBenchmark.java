@@ -0,0 +1,99 @@
+package com.investbank.dealpipeline.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.investbank.dealpipeline.mapper.DealMapper;
+import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.model.DealStage;
+import com.investbank.dealpipeline.service.DealSummaryFragments;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Summary list serialization: DealMapper + ObjectMapper on every request (the old path) against the
+// per-version JSON fragments of DealSummaryFragments, both embedded by Jackson and stitched as raw bytes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DealSummarySerializationBenchmark {
+
+    @Param({"50", "1000"})
+    private int deals;
+
+    private final DealMapper dealMapper = new DealMapper();
+
+    // Configured like the application's ObjectMapper (spring.jackson.* in application.yml)
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private List<Deal> page;
+    private DealSummaryFragments fragments;
+
+    @Setup
+    public void setUp() {
+        page = new ArrayList<>(deals);
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+        DealStage[] stages = DealStage.values();
+        for (int i = 0; i < deals; i++) {
+            page.add(Deal.builder()
+                    .id(String.format("65a5%020d", i))
+                    .clientName("Client " + i)
+                    .dealType(i % 2 == 0 ? "M&A" : "IPO")
+                    .sector("Technology")
+                    .currentStage(stages[i % stages.length])
+                    .summary("Cross-border acquisition of a mid-cap software vendor, financing in place " + i)
+                    .assignedTo("user" + (i % 10))
+                    .updatedAt(updatedAt.minusMinutes(i))
+                    .version((long) i % 7)
+                    .build());
+        }
+
+        fragments = new DealSummaryFragments(dealMapper, objectMapper, deals * 2L, new SimpleMeterRegistry());
+        // Steady state: every fragment already rendered
+        page.forEach(fragments::fragment);
+    }
+
+    @Benchmark
+    public byte[] mapperAndObjectMapper() throws Exception {
+        return objectMapper.writeValueAsBytes(page.stream()
+                .map(dealMapper::toSummaryResponse)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public byte[] cachedFragmentsThroughJackson() throws Exception {
+        List<RawValue> items = page.stream()
+                .map(fragments::rawValue)
+                .collect(Collectors.toList());
+        return objectMapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] cachedFragmentsStitched() {
+        return DealSummaryFragments.toJsonArray(page.stream()
+                .map(fragments::fragment)
+                .collect(Collectors.toList()));
+    }
+}
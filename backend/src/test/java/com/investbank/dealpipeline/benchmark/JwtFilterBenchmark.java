@@ -0,0 +1,123 @@
+package com.investbank.dealpipeline.benchmark;
+
+import com.investbank.dealpipeline.model.Role;
+import com.investbank.dealpipeline.security.AuthenticatedUser;
+import com.investbank.dealpipeline.security.JwtAuthenticationFilter;
+import com.investbank.dealpipeline.security.JwtTokenProvider;
+import com.investbank.dealpipeline.security.RevokedTokens;
+import com.investbank.dealpipeline.security.TokenEpochs;
+import com.investbank.dealpipeline.security.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost of turning a bearer token into a principal. legacyValidateThenParse repeats what the filter did before the
+// signing key and parser were built once: a fresh key and parser to validate the token, then again to read the claims.
+// verifyAndExtract is a single verification with the prebuilt parser, cachedVerifyAndExtract the verified-token
+// cache hit a repeated token now gets; filter runs the whole servlet filter.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "YW55X3NlY3JldF9rZXlfZm9yX2RlYWxfcGlwZWxpbmVfbWFuYWdlbWVudF9wb3J0YWxfc3lzdGVt";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtParser parser;
+    private TokenEpochs tokenEpochs;
+    private JwtAuthenticationFilter filter;
+    private String token;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 86400000L, 10000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build();
+
+        tokenEpochs = new TokenEpochs(List::of, Duration.ofHours(1));
+        RevokedTokens revokedTokens = new RevokedTokens(now -> List.of(), Duration.ofHours(1));
+
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, Mockito.mock(UserDetailsServiceImpl.class),
+                tokenEpochs, revokedTokens);
+
+        AuthenticatedUser user = AuthenticatedUser.builder()
+                .id("65a5f0c2e4b0a1b2c3d4e5f6")
+                .username("analyst")
+                .role(Role.USER)
+                .active(true)
+                .build();
+        token = jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        request = new MockHttpServletRequest("GET", "/api/deals");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public AuthenticatedUser legacyValidateThenParse() {
+        SecretKey validationKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Jwts.parser().verifyWith(validationKey).build().parseSignedClaims(token);
+
+        SecretKey claimsKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Claims claims = Jwts.parser().verifyWith(claimsKey).build().parseSignedClaims(token).getPayload();
+
+        return currentPrincipal(claims);
+    }
+
+    @Benchmark
+    public AuthenticatedUser verifyAndExtract() {
+        return currentPrincipal(parser.parseSignedClaims(token).getPayload());
+    }
+
+    @Benchmark
+    public AuthenticatedUser cachedVerifyAndExtract() {
+        return currentPrincipal(jwtTokenProvider.getValidatedClaims(token));
+    }
+
+    @Benchmark
+    public Authentication filter() throws ServletException, IOException {
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private AuthenticatedUser currentPrincipal(Claims claims) {
+        AuthenticatedUser user = jwtTokenProvider.getAuthenticatedUser(claims);
+        return tokenEpochs.isCurrent(user.getId(), user.getTokenEpoch()) ? user : null;
+    }
+}
@@ -1,29 +1,37 @@
 package com.investbank.dealpipeline.controller;
 
 import com.investbank.dealpipeline.TestApplication;
+import com.investbank.dealpipeline.config.BinaryContentConfig;
 import com.investbank.dealpipeline.dto.request.CreateUserRequest;
 import com.investbank.dealpipeline.dto.response.UserResponse;
 import com.investbank.dealpipeline.mapper.UserMapper;
 import com.investbank.dealpipeline.model.Role;
 import com.investbank.dealpipeline.model.User;
 import com.investbank.dealpipeline.security.JwtTokenProvider;
+import com.investbank.dealpipeline.security.RevokedTokens;
+import com.investbank.dealpipeline.security.TokenEpochs;
 import com.investbank.dealpipeline.security.UserDetailsServiceImpl;
 import com.investbank.dealpipeline.service.AuthService;
 import com.investbank.dealpipeline.service.UserService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Arrays;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -33,6 +41,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(controllers = AdminController.class,
     properties = "spring.main.banner-mode=off")
 @ContextConfiguration(classes = TestApplication.class)
+@Import(BinaryContentConfig.class)
 class AdminControllerTest {
 
     @Autowired
@@ -56,6 +65,12 @@ class AdminControllerTest {
     @MockBean
     private UserDetailsServiceImpl userDetailsService;
 
+    @MockBean
+    private TokenEpochs tokenEpochs;
+
+    @MockBean
+    private RevokedTokens revokedTokens;
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void shouldCreateUserSuccessfully() throws Exception {
@@ -124,6 +139,28 @@ class AdminControllerTest {
                 .andExpect(jsonPath("$[1].username").value("admin1"));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldGetAllUsersAsSmile() throws Exception {
+        UserResponse user = UserResponse.builder()
+                .id("user1")
+                .username("user1")
+                .role(Role.USER)
+                .active(true)
+                .build();
+        when(userService.getAllUsers()).thenReturn(List.of(user));
+
+        MvcResult result = mockMvc.perform(get("/api/admin/users").accept(BinaryContentConfig.APPLICATION_SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryContentConfig.APPLICATION_SMILE_VALUE))
+                .andReturn();
+
+        List<UserResponse> decoded = new SmileMapper().findAndRegisterModules().readValue(
+                result.getResponse().getContentAsByteArray(), new TypeReference<List<UserResponse>>() { });
+        assertEquals("user1", decoded.get(0).getUsername());
+        assertEquals(Role.USER, decoded.get(0).getRole());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void shouldUpdateUserStatusSuccessfully() throws Exception {
@@ -3,7 +3,10 @@ package com.investbank.dealpipeline.controller;
 import com.investbank.dealpipeline.TestApplication;
 import com.investbank.dealpipeline.dto.request.LoginRequest;
 import com.investbank.dealpipeline.dto.response.LoginResponse;
+import com.investbank.dealpipeline.exception.UnauthorizedException;
 import com.investbank.dealpipeline.security.JwtTokenProvider;
+import com.investbank.dealpipeline.security.RevokedTokens;
+import com.investbank.dealpipeline.security.TokenEpochs;
 import com.investbank.dealpipeline.security.UserDetailsServiceImpl;
 import com.investbank.dealpipeline.service.AuthService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -17,6 +20,8 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -42,6 +47,12 @@ class AuthControllerTest {
     @MockBean
     private UserDetailsServiceImpl userDetailsService;
 
+    @MockBean
+    private TokenEpochs tokenEpochs;
+
+    @MockBean
+    private RevokedTokens revokedTokens;
+
     @Test
     @WithMockUser
     void shouldLoginSuccessfully() throws Exception {
@@ -97,4 +108,25 @@ class AuthControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @WithMockUser
+    void shouldLogoutWithBearerToken() throws Exception {
+        mockMvc.perform(post("/api/auth/logout")
+                        .with(csrf())
+                        .header("Authorization", "Bearer test-jwt-token"))
+                .andExpect(status().isNoContent());
+
+        verify(authService).logout("test-jwt-token");
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnUnauthorizedWhenLogoutTokenIsInvalid() throws Exception {
+        doThrow(new UnauthorizedException("Invalid or expired token")).when(authService).logout(null);
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .with(csrf()))
+                .andExpect(status().isUnauthorized());
+    }
 }
@@ -1,34 +1,62 @@
 package com.investbank.dealpipeline.controller;
 
 import com.investbank.dealpipeline.TestApplication;
+import com.investbank.dealpipeline.config.BinaryContentConfig;
 import com.investbank.dealpipeline.dto.request.CreateDealRequest;
+import com.investbank.dealpipeline.dto.request.DealFilterRequest;
+import com.investbank.dealpipeline.dto.request.StageTransitionRequest;
 import com.investbank.dealpipeline.dto.request.UpdateDealRequest;
+import com.investbank.dealpipeline.dto.response.BatchStageUpdateResponse;
+import com.investbank.dealpipeline.dto.response.CursorPageResponse;
+import com.investbank.dealpipeline.dto.response.DealImportResponse;
 import com.investbank.dealpipeline.dto.response.DealResponse;
 import com.investbank.dealpipeline.dto.response.DealSummaryResponse;
+import com.investbank.dealpipeline.dto.response.StageTransitionResult;
+import com.investbank.dealpipeline.exception.PreconditionFailedException;
 import com.investbank.dealpipeline.model.DealStage;
+import com.investbank.dealpipeline.model.Note;
 import com.investbank.dealpipeline.model.Role;
-import com.investbank.dealpipeline.model.User;
-import com.investbank.dealpipeline.repository.UserRepository;
 import com.investbank.dealpipeline.security.JwtTokenProvider;
+import com.investbank.dealpipeline.security.RevokedTokens;
+import com.investbank.dealpipeline.security.TokenEpochs;
 import com.investbank.dealpipeline.security.UserDetailsServiceImpl;
+import com.investbank.dealpipeline.service.DealExportService;
+import com.investbank.dealpipeline.service.DealImportService;
 import com.investbank.dealpipeline.service.DealService;
+import com.investbank.dealpipeline.service.DealSummarySnapshot;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -37,6 +65,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(controllers = DealController.class,
     properties = "spring.main.banner-mode=off")
 @ContextConfiguration(classes = TestApplication.class)
+@Import(BinaryContentConfig.class)
 class DealControllerTest {
 
     @Autowired
@@ -49,7 +78,19 @@ class DealControllerTest {
     private DealService dealService;
 
     @MockBean
-    private UserRepository userRepository;
+    private DealImportService dealImportService;
+
+    @MockBean
+    private DealExportService dealExportService;
+
+    @MockBean
+    private DealSummarySnapshot dealSummarySnapshot;
+
+    @MockBean
+    private TokenEpochs tokenEpochs;
+
+    @MockBean
+    private RevokedTokens revokedTokens;
 
     @MockBean
     private JwtTokenProvider jwtTokenProvider;
@@ -58,14 +99,8 @@ class DealControllerTest {
     private UserDetailsServiceImpl userDetailsService;
 
     @Test
-    @WithMockUser(roles = "USER")
+    @WithAuthenticatedUser
     void shouldCreateDealSuccessfully() throws Exception {
-        User mockUser = new User();
-        mockUser.setId("user123");
-        mockUser.setUsername("user");
-        mockUser.setRole(Role.USER);
-        when(userRepository.findByUsername("user")).thenReturn(Optional.of(mockUser));
-        
         CreateDealRequest request = CreateDealRequest.builder()
                 .clientName("ABC Corp")
                 .dealType("M&A")
@@ -101,14 +136,28 @@ class DealControllerTest {
     }
 
     @Test
-    @WithMockUser(roles = "USER")
+    @WithAuthenticatedUser(id = "admin123", username = "admin", role = Role.ADMIN)
+    void shouldImportCsvFromRequestBody() throws Exception {
+        DealImportResponse response = DealImportResponse.builder()
+                .processed(1)
+                .imported(1)
+                .errors(List.of())
+                .build();
+        when(dealImportService.importCsv(any(), eq("admin123"))).thenReturn(response);
+
+        mockMvc.perform(post("/api/deals/import")
+                        .with(csrf())
+                        .contentType("text/csv")
+                        .content("clientName,dealType,sector,dealValue,currentStage\nAcme,M&A,Tech,1,Prospect\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+
+        verify(dealImportService).importCsv(any(), eq("admin123"));
+    }
+
+    @Test
+    @WithAuthenticatedUser
     void shouldGetAllDealsSuccessfully() throws Exception {
-        User mockUser = new User();
-        mockUser.setId("user123");
-        mockUser.setUsername("user");
-        mockUser.setRole(Role.USER);
-        when(userRepository.findByUsername("user")).thenReturn(Optional.of(mockUser));
-        
         DealResponse deal1 = DealResponse.builder()
                 .id("deal1")
                 .clientName("Client1")
@@ -134,20 +183,62 @@ class DealControllerTest {
                 .andExpect(jsonPath("$[1].clientName").value("Client2"));
     }
 
+    @Test
+    @WithAuthenticatedUser
+    void shouldStreamDealsAsNdjson() throws Exception {
+        DealResponse deal1 = DealResponse.builder().id("deal1").clientName("Client1").build();
+        DealResponse deal2 = DealResponse.builder().id("deal2").clientName("Client2").build();
+        when(dealService.streamAllDeals(Role.USER)).thenReturn(Stream.of(deal1, deal2));
+
+        MvcResult result = mockMvc.perform(get("/api/deals/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":\"deal1\",\"clientName\":\"Client1\"}\n"
+                        + "{\"id\":\"deal2\",\"clientName\":\"Client2\"}\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void shouldExportSelectedColumnsAsCsv() throws Exception {
+        List<DealExportService.Column> columns = List.of(DealExportService.Column.CLIENT_NAME);
+        when(dealExportService.resolveColumns(List.of("clientName"))).thenReturn(columns);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("clientName\nClient1\n".getBytes());
+            return null;
+        }).when(dealExportService).writeCsv(eq(columns), any());
+
+        MvcResult result = mockMvc.perform(get("/api/deals/export").param("columns", "clientName"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"deals.csv\""))
+                .andExpect(content().string("clientName\nClient1\n"));
+    }
+
     @Test
     @WithMockUser(roles = "USER")
+    void shouldRejectUnknownExportFormat() throws Exception {
+        mockMvc.perform(get("/api/deals/export").param("format", "pdf"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithAuthenticatedUser
     void shouldGetDealByIdSuccessfully() throws Exception {
-        User mockUser = new User();
-        mockUser.setId("user123");
-        mockUser.setUsername("user");
-        mockUser.setRole(Role.USER);
-        when(userRepository.findByUsername("user")).thenReturn(Optional.of(mockUser));
-        
         DealResponse deal = DealResponse.builder()
                 .id("deal123")
                 .clientName("Test Client")
                 .dealType("IPO")
                 .currentStage(DealStage.UnderEvaluation)
+                .version(3L)
                 .build();
 
         when(dealService.getDealById(eq("deal123"), any(Role.class)))
@@ -155,10 +246,33 @@ class DealControllerTest {
 
         mockMvc.perform(get("/api/deals/deal123"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
                 .andExpect(jsonPath("$.id").value("deal123"))
                 .andExpect(jsonPath("$.clientName").value("Test Client"));
     }
 
+    @Test
+    @WithAuthenticatedUser
+    void shouldGetDealByIdAsCbor() throws Exception {
+        when(dealService.getDealById(eq("deal123"), any(Role.class))).thenReturn(DealResponse.builder()
+                .id("deal123")
+                .clientName("Test Client")
+                .updatedAt(LocalDateTime.of(2024, 1, 15, 10, 30))
+                .version(3L)
+                .build());
+
+        MvcResult result = mockMvc.perform(get("/api/deals/deal123").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", "\"3\""))
+                .andReturn();
+
+        DealResponse decoded = new CBORMapper().findAndRegisterModules()
+                .readValue(result.getResponse().getContentAsByteArray(), DealResponse.class);
+        assertEquals("Test Client", decoded.getClientName());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 30), decoded.getUpdatedAt());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void shouldGetDealsSummarySuccessfully() throws Exception {
@@ -168,25 +282,126 @@ class DealControllerTest {
                 .currentStage(DealStage.TermSheetSubmitted)
                 .build();
 
-        List<DealSummaryResponse> summaries = Arrays.asList(summary);
-        when(dealService.getAllDealsSummary())
-                .thenReturn(summaries);
+        byte[] body = objectMapper.writeValueAsBytes(Arrays.asList(summary));
+        when(dealSummarySnapshot.current())
+                .thenReturn(new DealSummarySnapshot.Snapshot(1, body, "abc123", Instant.now(), List.of()));
 
-        mockMvc.perform(get("/api/deals/summary"))
+        mockMvc.perform(get("/api/deals/summary").accept(MediaType.ALL))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", "\"abc123\""))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].clientName").value("Summary Client"));
     }
 
     @Test
     @WithMockUser(roles = "USER")
+    void shouldAnswerUnchangedSummaryWithNotModified() throws Exception {
+        when(dealSummarySnapshot.current())
+                .thenReturn(new DealSummarySnapshot.Snapshot(1, "[]".getBytes(), "abc123", Instant.now(), List.of()));
+
+        mockMvc.perform(get("/api/deals/summary").header("If-None-Match", "\"abc123\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void shouldTranscodeSummarySnapshotForCborClients() throws Exception {
+        List<SerializableString> summaries = List.of(
+                new SerializedString("{\"id\":\"deal1\",\"clientName\":\"Summary Client\"}"));
+        when(dealSummarySnapshot.current())
+                .thenReturn(new DealSummarySnapshot.Snapshot(1, "[]".getBytes(), "abc123", Instant.now(), summaries));
+
+        MvcResult result = mockMvc.perform(get("/api/deals/summary").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", "W/\"abc123\""))
+                .andReturn();
+
+        List<DealSummaryResponse> decoded = new CBORMapper().readValue(
+                result.getResponse().getContentAsByteArray(), new TypeReference<List<DealSummaryResponse>>() { });
+        assertEquals(1, decoded.size());
+        assertEquals("Summary Client", decoded.get(0).getClientName());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void shouldGetDealsSummaryPageSuccessfully() throws Exception {
+        RawValue summary = new RawValue("{\"id\":\"deal1\",\"clientName\":\"Paged Client\"}");
+
+        CursorPageResponse<RawValue> page = CursorPageResponse.<RawValue>builder()
+                .items(Arrays.asList(summary))
+                .size(1)
+                .hasMore(true)
+                .nextCursor("next-token")
+                .build();
+        when(dealService.getDealsSummaryPage("abc", 25)).thenReturn(page);
+
+        mockMvc.perform(get("/api/deals/summary/page")
+                        .param("cursor", "abc")
+                        .param("size", "25"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].clientName").value("Paged Client"))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void shouldGetDealsSummaryPageAsSmile() throws Exception {
+        CursorPageResponse<RawValue> page = CursorPageResponse.<RawValue>builder()
+                .items(List.of(new RawValue("{\"id\":\"deal1\",\"clientName\":\"Paged Client\"}")))
+                .size(1)
+                .hasMore(false)
+                .build();
+        when(dealService.getDealsSummaryPage(null, null)).thenReturn(page);
+
+        MvcResult result = mockMvc.perform(get("/api/deals/summary/page")
+                        .accept(BinaryContentConfig.APPLICATION_SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryContentConfig.APPLICATION_SMILE_VALUE))
+                .andReturn();
+
+        JsonNode decoded = new SmileMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals("Paged Client", decoded.at("/items/0/clientName").asText());
+        assertEquals(1, decoded.get("size").asInt());
+    }
+
+    @Test
+    @WithAuthenticatedUser
+    void shouldBindFilterParameters() throws Exception {
+        CursorPageResponse<DealResponse> page = CursorPageResponse.<DealResponse>builder()
+                .items(Arrays.asList(DealResponse.builder().id("deal1").build()))
+                .size(1)
+                .build();
+        when(dealService.filterDeals(any(DealFilterRequest.class), isNull(), eq(20), eq(Role.USER)))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/api/deals/filter")
+                        .param("stages", "Prospect", "Closed")
+                        .param("sector", "Technology")
+                        .param("minValue", "1000")
+                        .param("updatedSince", "2024-01-01T00:00:00")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value("deal1"));
+
+        ArgumentCaptor<DealFilterRequest> captor = ArgumentCaptor.forClass(DealFilterRequest.class);
+        verify(dealService).filterDeals(captor.capture(), isNull(), eq(20), eq(Role.USER));
+        DealFilterRequest filter = captor.getValue();
+        assertEquals(
+                Arrays.asList(DealStage.Prospect, DealStage.Closed), filter.getStages());
+        assertEquals("Technology", filter.getSector());
+        assertEquals(1000L, filter.getMinValue());
+        assertEquals(
+                LocalDateTime.of(2024, 1, 1, 0, 0), filter.getUpdatedSince());
+    }
+
+    @Test
+    @WithAuthenticatedUser
     void shouldUpdateDealSuccessfully() throws Exception {
-        User mockUser = new User();
-        mockUser.setId("user123");
-        mockUser.setUsername("user");
-        mockUser.setRole(Role.USER);
-        when(userRepository.findByUsername("user")).thenReturn(Optional.of(mockUser));
-        
         UpdateDealRequest request = UpdateDealRequest.builder()
                 .clientName("Updated Client")
                 .dealType("M&A")
@@ -202,7 +417,7 @@ class DealControllerTest {
                 .currentStage(DealStage.UnderEvaluation)
                 .build();
 
-        when(dealService.updateDeal(eq("deal123"), any(UpdateDealRequest.class), any(Role.class)))
+        when(dealService.updateDeal(eq("deal123"), any(UpdateDealRequest.class), isNull(), any(Role.class)))
                 .thenReturn(response);
 
         mockMvc.perform(put("/api/deals/deal123")
@@ -214,24 +429,75 @@ class DealControllerTest {
     }
 
     @Test
-    @WithMockUser(roles = "USER")
-    void shouldUpdateDealStageSuccessfully() throws Exception {
-        User mockUser = new User();
-        mockUser.setId("user123");
-        mockUser.setUsername("user");
-        mockUser.setRole(Role.USER);
-        when(userRepository.findByUsername("user")).thenReturn(Optional.of(mockUser));
+    @WithAuthenticatedUser
+    void shouldPassIfMatchVersionToUpdate() throws Exception {
+        DealResponse response = DealResponse.builder()
+                .id("deal123")
+                .version(8L)
+                .build();
+        when(dealService.updateDeal(eq("deal123"), any(UpdateDealRequest.class), eq(7L), any(Role.class)))
+                .thenReturn(response);
+
+        mockMvc.perform(put("/api/deals/deal123")
+                        .with(csrf())
+                        .header("If-Match", "\"7\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"clientName\":\"Updated Client\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"8\""));
+    }
+
+    @Test
+    @WithAuthenticatedUser
+    void shouldReturnPreconditionFailedForStaleIfMatch() throws Exception {
+        when(dealService.updateDeal(eq("deal123"), any(UpdateDealRequest.class), eq(7L), any(Role.class)))
+                .thenThrow(new PreconditionFailedException("Deal deal123 has been modified since version 7"));
+
+        mockMvc.perform(put("/api/deals/deal123")
+                        .with(csrf())
+                        .header("If-Match", "\"7\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"clientName\":\"Updated Client\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @WithAuthenticatedUser
+    void shouldRejectMalformedIfMatch() throws Exception {
+        mockMvc.perform(put("/api/deals/deal123")
+                        .with(csrf())
+                        .header("If-Match", "7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"clientName\":\"Updated Client\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithAuthenticatedUser
+    void shouldReturnPreconditionFailedForWeakIfMatch() throws Exception {
+        mockMvc.perform(put("/api/deals/deal123")
+                        .with(csrf())
+                        .header("If-Match", "W/\"7\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"clientName\":\"Updated Client\"}"))
+                .andExpect(status().isPreconditionFailed());
         
+        verifyNoInteractions(dealService);
+    }
+
+    @Test
+    @WithAuthenticatedUser
+    void shouldUpdateDealStageSuccessfully() throws Exception {
         DealResponse response = DealResponse.builder()
                 .id("deal123")
                 .clientName("Test Client")
                 .currentStage(DealStage.TermSheetSubmitted)
                 .build();
 
-        when(dealService.updateDealStage(eq("deal123"), eq(DealStage.TermSheetSubmitted), any(Role.class)))
+        when(dealService.updateDealStage(eq("deal123"), eq(DealStage.TermSheetSubmitted), eq(DealStage.UnderEvaluation), isNull(), any(Role.class)))
                 .thenReturn(response);
 
-        String requestBody = "{\"stage\":\"TermSheetSubmitted\"}";
+        String requestBody = "{\"stage\":\"TermSheetSubmitted\",\"expectedStage\":\"UnderEvaluation\"}";
 
         mockMvc.perform(patch("/api/deals/deal123/stage")
                         .with(csrf())
@@ -242,21 +508,54 @@ class DealControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "admin", roles = "ADMIN")
+    @WithMockUser(roles = "USER")
+    void shouldUpdateDealStagesInBatch() throws Exception {
+        BatchStageUpdateResponse response = BatchStageUpdateResponse.builder()
+                .requested(2)
+                .applied(1)
+                .results(Arrays.asList(
+                        StageTransitionResult.builder().dealId("deal1")
+                                .status(StageTransitionResult.Status.APPLIED).build(),
+                        StageTransitionResult.builder().dealId("deal2")
+                                .status(StageTransitionResult.Status.NOT_FOUND).build()))
+                .build();
+        when(dealService.updateDealStages(anyList())).thenReturn(response);
+
+        mockMvc.perform(post("/api/deals/stage:batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transitions\":[{\"dealId\":\"deal1\",\"stage\":\"Closed\"},"
+                                + "{\"dealId\":\"deal2\",\"stage\":\"Lost\",\"expectedStage\":\"Prospect\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("NOT_FOUND"));
+
+        ArgumentCaptor<List<StageTransitionRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(dealService).updateDealStages(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(DealStage.Prospect, captor.getValue().get(1).getExpectedStage());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void shouldRejectEmptyStageBatch() throws Exception {
+        mockMvc.perform(post("/api/deals/stage:batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transitions\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = "admin123", username = "admin", role = Role.ADMIN)
     void shouldUpdateDealValueSuccessfully() throws Exception {
-        User mockUser = new User();
-        mockUser.setId("admin123");
-        mockUser.setUsername("admin");
-        mockUser.setRole(Role.ADMIN);
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(mockUser));
-        
         DealResponse response = DealResponse.builder()
                 .id("deal123")
                 .clientName("Test Client")
                 .dealValue(2000000L)
                 .build();
 
-        when(dealService.updateDealValue(eq("deal123"), eq(2000000L), any(Role.class)))
+        when(dealService.updateDealValue(eq("deal123"), eq(2000000L), isNull(), any(Role.class)))
                 .thenReturn(response);
 
         String requestBody = "{\"dealValue\":2000000}";
@@ -270,14 +569,8 @@ class DealControllerTest {
     }
 
     @Test
-    @WithMockUser(roles = "USER")
+    @WithAuthenticatedUser
     void shouldAddNoteSuccessfully() throws Exception {
-        User mockUser = new User();
-        mockUser.setId("user123");
-        mockUser.setUsername("user");
-        mockUser.setRole(Role.USER);
-        when(userRepository.findByUsername("user")).thenReturn(Optional.of(mockUser));
-        
         DealResponse response = DealResponse.builder()
                 .id("deal123")
                 .clientName("Test Client")
@@ -296,6 +589,51 @@ class DealControllerTest {
                 .andExpect(jsonPath("$.id").value("deal123"));
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void shouldGetDealNotesPage() throws Exception {
+        Note note = Note.builder()
+                .userId("user123")
+                .note("Older note")
+                .build();
+
+        CursorPageResponse<Note> page = CursorPageResponse.<Note>builder()
+                .items(Arrays.asList(note))
+                .size(1)
+                .hasMore(true)
+                .nextCursor("next-token")
+                .build();
+        when(dealService.getDealNotes("deal123", "abc", 10)).thenReturn(page);
+
+        mockMvc.perform(get("/api/deals/deal123/notes")
+                        .param("cursor", "abc")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].note").value("Older note"))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"));
+    }
+
+    @Test
+    @WithAuthenticatedUser
+    void shouldReturnOnlyAppendedNoteWhenRequested() throws Exception {
+        Note note = Note.builder()
+                .userId("user123")
+                .note("Quick update")
+                .build();
+        when(dealService.appendNote(eq("deal123"), any(), eq("user123"))).thenReturn(note);
+
+        mockMvc.perform(post("/api/deals/deal123/notes")
+                        .param("view", "note")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"note\":\"Quick update\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.note").value("Quick update"))
+                .andExpect(jsonPath("$.userId").value("user123"))
+                .andExpect(jsonPath("$.id").doesNotExist());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void shouldDeleteDealSuccessfully() throws Exception {
@@ -303,6 +641,6 @@ class DealControllerTest {
                         .with(csrf()))
                 .andExpect(status().isNoContent());
 
-        verify(dealService).deleteDeal("deal123");
+        verify(dealService).deleteDeal("deal123", null);
     }
 }
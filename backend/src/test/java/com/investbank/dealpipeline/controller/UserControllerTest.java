@@ -4,6 +4,8 @@ import com.investbank.dealpipeline.TestApplication;
 import com.investbank.dealpipeline.dto.response.UserResponse;
 import com.investbank.dealpipeline.model.Role;
 import com.investbank.dealpipeline.security.JwtTokenProvider;
+import com.investbank.dealpipeline.security.RevokedTokens;
+import com.investbank.dealpipeline.security.TokenEpochs;
 import com.investbank.dealpipeline.security.UserDetailsServiceImpl;
 import com.investbank.dealpipeline.service.UserService;
 import org.junit.jupiter.api.Test;
@@ -35,6 +37,12 @@ class UserControllerTest {
     @MockBean
     private UserDetailsServiceImpl userDetailsService;
 
+    @MockBean
+    private TokenEpochs tokenEpochs;
+
+    @MockBean
+    private RevokedTokens revokedTokens;
+
     @Test
     @WithMockUser(username = "testuser", roles = "USER")
     void shouldGetCurrentUserSuccessfully() throws Exception {
@@ -0,0 +1,44 @@
+package com.investbank.dealpipeline.controller;
+
+import com.investbank.dealpipeline.model.Role;
+import com.investbank.dealpipeline.security.AuthenticatedUser;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithSecurityContext;
+import org.springframework.security.test.context.support.WithSecurityContextFactory;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Runs a test as the principal JwtAuthenticationFilter builds from a token's claims
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+@WithSecurityContext(factory = WithAuthenticatedUser.Factory.class)
+public @interface WithAuthenticatedUser {
+
+    String id() default "user123";
+
+    String username() default "user";
+
+    Role role() default Role.USER;
+
+    class Factory implements WithSecurityContextFactory<WithAuthenticatedUser> {
+
+        @Override
+        public SecurityContext createSecurityContext(WithAuthenticatedUser annotation) {
+            AuthenticatedUser user = AuthenticatedUser.builder()
+                    .id(annotation.id())
+                    .username(annotation.username())
+                    .role(annotation.role())
+                    .active(true)
+                    .build();
+
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+            return context;
+        }
+    }
+}
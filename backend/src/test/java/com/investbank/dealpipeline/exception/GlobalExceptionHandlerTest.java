@@ -66,6 +66,30 @@ class GlobalExceptionHandlerTest {
         assertEquals("/api/test", response.getBody().getPath());
     }
 
+    @Test
+    void shouldHandleConflictException() {
+        ConflictException ex = new ConflictException("Deal is in stage Lost");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleConflict(ex, request);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(409, response.getBody().getStatus());
+        assertEquals("Deal is in stage Lost", response.getBody().getMessage());
+    }
+
+    @Test
+    void shouldHandlePreconditionFailedException() {
+        PreconditionFailedException ex = new PreconditionFailedException("Deal has been modified");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handlePreconditionFailed(ex, request);
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(412, response.getBody().getStatus());
+        assertEquals("Deal has been modified", response.getBody().getMessage());
+    }
+
     @Test
     void shouldHandleUnauthorizedException() {
         UnauthorizedException ex = new UnauthorizedException("Unauthorized access");
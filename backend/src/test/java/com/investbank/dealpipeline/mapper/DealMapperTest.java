@@ -3,6 +3,7 @@ package com.investbank.dealpipeline.mapper;
 import com.investbank.dealpipeline.dto.response.DealResponse;
 import com.investbank.dealpipeline.dto.response.DealSummaryResponse;
 import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.model.DealNote;
 import com.investbank.dealpipeline.model.DealStage;
 import com.investbank.dealpipeline.model.Note;
 import com.investbank.dealpipeline.model.Role;
@@ -10,9 +11,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -29,10 +27,7 @@ class DealMapperTest {
     void shouldMapDealToResponseForAdminRole() {
         // Given
         LocalDateTime now = LocalDateTime.now();
-        List<Note> notes = Arrays.asList(
-                Note.builder().userId("user1").note("Note 1").timestamp(now).build(),
-                Note.builder().userId("user2").note("Note 2").timestamp(now).build()
-        );
+        Note lastNote = Note.builder().userId("user2").note("Note 2").timestamp(now).build();
 
         Deal deal = Deal.builder()
                 .id("deal123")
@@ -42,7 +37,8 @@ class DealMapperTest {
                 .dealValue(1000000L)
                 .currentStage(DealStage.Prospect)
                 .summary("Tech acquisition deal")
-                .notes(notes)
+                .noteCount(2)
+                .lastNote(lastNote)
                 .createdBy("admin@bank.com")
                 .assignedTo("banker@bank.com")
                 .createdAt(now)
@@ -61,7 +57,9 @@ class DealMapperTest {
         assertThat(response.getDealValue()).isEqualTo(1000000L);
         assertThat(response.getCurrentStage()).isEqualTo(DealStage.Prospect);
         assertThat(response.getSummary()).isEqualTo("Tech acquisition deal");
-        assertThat(response.getNotes()).hasSize(2);
+        assertThat(response.getNoteCount()).isEqualTo(2L);
+        assertThat(response.getLastNote()).isEqualTo(lastNote);
+        assertThat(response.getNotes()).isNull();
         assertThat(response.getCreatedBy()).isEqualTo("admin@bank.com");
         assertThat(response.getAssignedTo()).isEqualTo("banker@bank.com");
     }
@@ -77,7 +75,6 @@ class DealMapperTest {
                 .dealValue(1000000L)
                 .currentStage(DealStage.Prospect)
                 .summary("Tech acquisition deal")
-                .notes(new ArrayList<>())
                 .createdBy("admin@bank.com")
                 .assignedTo("banker@bank.com")
                 .createdAt(LocalDateTime.now())
@@ -114,7 +111,6 @@ class DealMapperTest {
                 .dealValue(5000000L)
                 .currentStage(DealStage.UnderEvaluation)
                 .summary("IPO preparation")
-                .notes(new ArrayList<>())
                 .createdBy("admin@bank.com")
                 .assignedTo("banker@bank.com")
                 .createdAt(now)
@@ -146,7 +142,7 @@ class DealMapperTest {
     }
 
     @Test
-    void shouldHandleEmptyNotesList() {
+    void shouldHandleDealWithoutNotes() {
         // Given
         Deal deal = Deal.builder()
                 .id("deal789")
@@ -156,7 +152,6 @@ class DealMapperTest {
                 .dealValue(2000000L)
                 .currentStage(DealStage.TermSheetSubmitted)
                 .summary("Healthcare advisory")
-                .notes(new ArrayList<>())
                 .createdBy("admin@bank.com")
                 .assignedTo("banker@bank.com")
                 .createdAt(LocalDateTime.now())
@@ -168,7 +163,29 @@ class DealMapperTest {
 
         // Then
         assertThat(response).isNotNull();
-        assertThat(response.getNotes()).isEmpty();
+        assertThat(response.getNoteCount()).isZero();
+        assertThat(response.getLastNote()).isNull();
+    }
+
+    @Test
+    void shouldMapDealNoteToNote() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        DealNote dealNote = DealNote.builder()
+                .id("note1")
+                .dealId("deal123")
+                .userId("user1")
+                .note("Met with CFO")
+                .timestamp(now)
+                .build();
+
+        // When
+        Note note = dealMapper.toNote(dealNote);
+
+        // Then
+        assertThat(note.getUserId()).isEqualTo("user1");
+        assertThat(note.getNote()).isEqualTo("Met with CFO");
+        assertThat(note.getTimestamp()).isEqualTo(now);
     }
 
     @Test
@@ -192,8 +209,7 @@ class DealMapperTest {
                     .dealValue(1000000L)
                     .currentStage(stage)
                     .summary("Summary")
-                    .notes(new ArrayList<>())
-                    .createdBy("admin@bank.com")
+                        .createdBy("admin@bank.com")
                     .assignedTo("banker@bank.com")
                     .createdAt(now)
                     .updatedAt(now)
@@ -0,0 +1,57 @@
+package com.investbank.dealpipeline.repository;
+
+import com.investbank.dealpipeline.model.Deal;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DealRepositoryCustomImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void findAllSummaries_IsRoutedToSecondaries() {
+        repository().findAllSummaries();
+
+        Query query = capturedQuery();
+        assertEquals(ReadPreference.secondaryPreferred(120, TimeUnit.SECONDS), query.getReadPreference());
+        assertEquals(ReadConcern.MAJORITY, query.getReadConcern());
+        assertTrue(query.getFieldsObject().containsKey("clientName"));
+    }
+
+    @Test
+    void findSummariesByIds_StaysOnThePrimary() {
+        repository().findSummariesByIds(List.of("deal1"));
+
+        Query query = capturedQuery();
+        assertNull(query.getReadPreference());
+        assertNull(query.getReadConcern());
+        assertTrue(query.getFieldsObject().containsKey("clientName"));
+    }
+
+    private DealRepositoryCustomImpl repository() {
+        return new DealRepositoryCustomImpl(mongoTemplate, new SecondaryReads(Duration.ofSeconds(120)));
+    }
+
+    private Query capturedQuery() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Deal.class));
+        return query.getValue();
+    }
+}
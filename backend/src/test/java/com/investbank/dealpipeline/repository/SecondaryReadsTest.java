@@ -0,0 +1,24 @@
+package com.investbank.dealpipeline.repository;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecondaryReadsTest {
+
+    @Test
+    void apply_RoutesToBoundedSecondaryWithMajorityReadConcern() {
+        SecondaryReads secondaryReads = new SecondaryReads(Duration.ofSeconds(120));
+
+        Query query = secondaryReads.apply(new Query());
+
+        assertEquals(ReadPreference.secondaryPreferred(120, TimeUnit.SECONDS), query.getReadPreference());
+        assertEquals(ReadConcern.MAJORITY, query.getReadConcern());
+    }
+}
@@ -1,5 +1,7 @@
 package com.investbank.dealpipeline.security;
 
+import com.investbank.dealpipeline.model.Role;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +17,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.io.IOException;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -26,6 +29,12 @@ class JwtAuthenticationFilterTest {
     @Mock
     private UserDetailsServiceImpl userDetailsService;
 
+    @Mock
+    private TokenEpochs tokenEpochs;
+
+    @Mock
+    private RevokedTokens revokedTokens;
+
     @Mock
     private HttpServletRequest request;
 
@@ -38,6 +47,9 @@ class JwtAuthenticationFilterTest {
     @Mock
     private UserDetails userDetails;
 
+    @Mock
+    private Claims claims;
+
     @InjectMocks
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -53,30 +65,95 @@ class JwtAuthenticationFilterTest {
         String username = "testuser";
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
-        when(jwtTokenProvider.getUsernameFromToken(token)).thenReturn(username);
+        when(jwtTokenProvider.getValidatedClaims(token)).thenReturn(claims);
+        when(claims.getSubject()).thenReturn(username);
         when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
         
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
-        verify(jwtTokenProvider).validateToken(token);
+        verify(jwtTokenProvider).getValidatedClaims(token);
         verify(userDetailsService).loadUserByUsername(username);
     }
 
+    @Test
+    void shouldAuthenticateFromTokenClaimsWithoutUserLookup() throws ServletException, IOException {
+        String token = "valid.jwt.token";
+        AuthenticatedUser user = AuthenticatedUser.builder()
+                .id("user123")
+                .username("testuser")
+                .role(Role.ADMIN)
+                .active(true)
+                .tokenEpoch(2L)
+                .build();
+        
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtTokenProvider.getValidatedClaims(token)).thenReturn(claims);
+        when(jwtTokenProvider.getAuthenticatedUser(claims)).thenReturn(user);
+        when(tokenEpochs.isCurrent("user123", 2L)).thenReturn(true);
+        
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        
+        assertSame(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        assertTrue(SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN")));
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void shouldNotAuthenticateWithRevokedToken() throws ServletException, IOException {
+        String token = "revoked.jwt.token";
+        AuthenticatedUser user = AuthenticatedUser.builder()
+                .id("user123")
+                .username("testuser")
+                .role(Role.USER)
+                .active(true)
+                .tokenEpoch(0L)
+                .build();
+        
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtTokenProvider.getValidatedClaims(token)).thenReturn(claims);
+        when(jwtTokenProvider.getAuthenticatedUser(claims)).thenReturn(user);
+        when(tokenEpochs.isCurrent("user123", 0L)).thenReturn(false);
+        
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void shouldNotAuthenticateWithLoggedOutToken() throws ServletException, IOException {
+        String token = "logged.out.token";
+        
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtTokenProvider.getValidatedClaims(token)).thenReturn(claims);
+        when(claims.getId()).thenReturn("token123");
+        when(revokedTokens.isRevoked("token123")).thenReturn(true);
+        
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(request, response);
+        verify(jwtTokenProvider, never()).getAuthenticatedUser(any());
+        verifyNoInteractions(userDetailsService, tokenEpochs);
+    }
+
     @Test
     void shouldNotAuthenticateWithInvalidToken() throws ServletException, IOException {
         String token = "invalid.jwt.token";
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(false);
+        when(jwtTokenProvider.getValidatedClaims(token)).thenReturn(null);
         
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
-        verify(jwtTokenProvider).validateToken(token);
+        verify(jwtTokenProvider).getValidatedClaims(token);
         verify(userDetailsService, never()).loadUserByUsername(anyString());
     }
 
@@ -88,7 +165,7 @@ class JwtAuthenticationFilterTest {
         
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
-        verify(jwtTokenProvider, never()).validateToken(anyString());
+        verify(jwtTokenProvider, never()).getValidatedClaims(anyString());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
     }
 
@@ -100,7 +177,7 @@ class JwtAuthenticationFilterTest {
         
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
-        verify(jwtTokenProvider, never()).validateToken(anyString());
+        verify(jwtTokenProvider, never()).getValidatedClaims(anyString());
     }
 
     @Test
@@ -108,7 +185,7 @@ class JwtAuthenticationFilterTest {
         String token = "error.jwt.token";
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenThrow(new RuntimeException("Token error"));
+        when(jwtTokenProvider.getValidatedClaims(token)).thenThrow(new RuntimeException("Token error"));
         
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
@@ -124,6 +201,6 @@ class JwtAuthenticationFilterTest {
         
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
-        verify(jwtTokenProvider, never()).validateToken(anyString());
+        verify(jwtTokenProvider, never()).getValidatedClaims(anyString());
     }
 }
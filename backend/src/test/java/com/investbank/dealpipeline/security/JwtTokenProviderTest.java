@@ -1,17 +1,20 @@
 package com.investbank.dealpipeline.security;
 
+import com.investbank.dealpipeline.model.Role;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Date;
 
@@ -23,12 +26,12 @@ class JwtTokenProviderTest {
     private JwtTokenProvider jwtTokenProvider;
     private String jwtSecret = "YW55X3NlY3JldF9rZXlfZm9yX2RlYWxfcGlwZWxpbmVfbWFuYWdlbWVudF9wb3J0YWxfc3lzdGVt";
     private long jwtExpiration = 86400000L;
+    private SimpleMeterRegistry meterRegistry;
     
     @BeforeEach
     void setUp() {
-        jwtTokenProvider = new JwtTokenProvider();
-        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", jwtSecret);
-        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpiration", jwtExpiration);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtTokenProvider = new JwtTokenProvider(jwtSecret, jwtExpiration, 100, Duration.ofMinutes(5), meterRegistry);
     }
     
     @Test
@@ -49,49 +52,99 @@ class JwtTokenProviderTest {
     }
     
     @Test
-    void getUsernameFromToken_Success() {
-        String username = "testuser";
+    void getAuthenticatedUser_ReadsClaimsOfGeneratedToken() {
+        AuthenticatedUser user = AuthenticatedUser.builder()
+                .id("user123")
+                .username("testuser")
+                .password("hashedPassword")
+                .role(Role.ADMIN)
+                .active(true)
+                .tokenEpoch(3L)
+                .build();
+        
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(user);
+        
+        Claims claims = jwtTokenProvider.getValidatedClaims(jwtTokenProvider.generateToken(authentication));
+        AuthenticatedUser result = jwtTokenProvider.getAuthenticatedUser(claims);
+        
+        assertEquals("user123", result.getId());
+        assertEquals("testuser", result.getUsername());
+        assertEquals(Role.ADMIN, result.getRole());
+        assertEquals(3L, result.getTokenEpoch());
+        assertNull(result.getPassword());
+    }
+    
+    @Test
+    void getAuthenticatedUser_TokenWithoutClaims_ReturnsNull() {
         SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
         
         String token = Jwts.builder()
-                .subject(username)
+                .subject("testuser")
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
                 .signWith(key)
                 .compact();
         
-        String result = jwtTokenProvider.getUsernameFromToken(token);
-        
-        assertEquals(username, result);
+        assertNull(jwtTokenProvider.getAuthenticatedUser(jwtTokenProvider.getValidatedClaims(token)));
     }
     
     @Test
-    void validateToken_ValidToken_ReturnsTrue() {
+    void getValidatedClaims_RepeatedToken_IsVerifiedOnce() {
         SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
         
         String token = Jwts.builder()
                 .subject("testuser")
-                .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
                 .signWith(key)
                 .compact();
         
-        boolean result = jwtTokenProvider.validateToken(token);
+        Claims first = jwtTokenProvider.getValidatedClaims(token);
+        Claims second = jwtTokenProvider.getValidatedClaims(token);
         
-        assertTrue(result);
+        assertSame(first, second);
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tags("cache", JwtTokenProvider.CACHE_NAME, "result", "hit")
+                .functionCounter().count());
     }
     
     @Test
-    void validateToken_InvalidToken_ReturnsFalse() {
-        String invalidToken = "invalid.token.here";
+    void getValidatedClaims_InvalidToken_ReturnsNull() {
+        SecretKey otherKey = Keys.hmacShaKeyFor("another_secret_key_that_is_long_enough_for_hmac_sha".getBytes(StandardCharsets.UTF_8));
         
-        boolean result = jwtTokenProvider.validateToken(invalidToken);
+        String token = Jwts.builder()
+                .subject("testuser")
+                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .signWith(otherKey)
+                .compact();
         
-        assertFalse(result);
+        assertNull(jwtTokenProvider.getValidatedClaims(token));
     }
     
     @Test
-    void validateToken_ExpiredToken_ReturnsFalse() {
+    void getValidatedClaims_ValidToken_ReturnsSubject() {
+        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        
+        String token = Jwts.builder()
+                .subject("testuser")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .signWith(key)
+                .compact();
+        
+        Claims claims = jwtTokenProvider.getValidatedClaims(token);
+        
+        assertNotNull(claims);
+        assertEquals("testuser", claims.getSubject());
+    }
+    
+    @Test
+    void getValidatedClaims_MalformedToken_ReturnsNull() {
+        assertNull(jwtTokenProvider.getValidatedClaims("invalid.token.here"));
+    }
+    
+    @Test
+    void getValidatedClaims_ExpiredToken_ReturnsNull() {
         SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
         
         String token = Jwts.builder()
@@ -101,8 +154,6 @@ class JwtTokenProviderTest {
                 .signWith(key)
                 .compact();
         
-        boolean result = jwtTokenProvider.validateToken(token);
-        
-        assertFalse(result);
+        assertNull(jwtTokenProvider.getValidatedClaims(token));
     }
 }
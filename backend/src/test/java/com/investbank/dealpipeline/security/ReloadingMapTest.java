@@ -0,0 +1,107 @@
+package com.investbank.dealpipeline.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReloadingMapTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicReference<Map<String, Long>> source = new AtomicReference<>(Map.of("user1", 2L));
+
+    private ReloadingMap<String, Long> map;
+
+    @AfterEach
+    void tearDown() {
+        if (map != null) {
+            map.close();
+        }
+    }
+
+    @Test
+    void constructor_LoadsBeforeFirstUse() {
+        map = reloadingMap(Duration.ofHours(1));
+
+        assertEquals(2L, map.get("user1"));
+        assertNull(map.get("user2"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void putAndReload_KeepTheLargerValue() {
+        map = reloadingMap(Duration.ofHours(1));
+
+        map.put("user1", 1L);
+        assertEquals(2L, map.get("user1"));
+
+        map.put("user1", 5L);
+        map.reload();
+        assertEquals(5L, map.get("user1"));
+    }
+
+    @Test
+    void reload_DropsValuesFailingRetain() {
+        map = new ReloadingMap<>("values", Duration.ofHours(1), this::load, value -> value > 0);
+
+        map.put("user2", 0L);
+        map.reload();
+
+        assertNull(map.get("user2"));
+        assertEquals(2L, map.get("user1"));
+    }
+
+    @Test
+    void reloadsOnSchedule_AndKeepsValuesWhenALoadFails() throws Exception {
+        map = reloadingMap(Duration.ofMillis(20));
+
+        source.set(null);
+        awaitLoads(3);
+        assertEquals(2L, map.get("user1"));
+
+        source.set(Map.of("user2", 1L));
+        awaitValue("user2");
+        assertEquals(2L, map.get("user1"));
+    }
+
+    @Test
+    void constructor_FailedFirstLoadIsThrown() {
+        source.set(null);
+
+        assertThrows(IllegalStateException.class, () -> reloadingMap(Duration.ofHours(1)));
+    }
+
+    private ReloadingMap<String, Long> reloadingMap(Duration interval) {
+        return new ReloadingMap<>("values", interval, this::load, value -> true);
+    }
+
+    private Map<String, Long> load() {
+        loads.incrementAndGet();
+        Map<String, Long> values = source.get();
+        if (values == null) {
+            throw new IllegalStateException("Mongo unavailable");
+        }
+        return values;
+    }
+
+    private void awaitLoads(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (loads.get() < count) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for a scheduled reload");
+            Thread.sleep(10);
+        }
+    }
+
+    private void awaitValue(String key) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (map.get(key) == null) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for a scheduled reload");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.investbank.dealpipeline.security;
+
+import com.investbank.dealpipeline.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Loading, merging and scheduled reloads are covered by ReloadingMapTest
+class TokenEpochsTest {
+
+    @Test
+    void isCurrent_ChecksAgainstLoadedAndAdvancedEpochs() {
+        try (TokenEpochs tokenEpochs = new TokenEpochs(
+                () -> List.of(User.builder().id("user123").tokenEpoch(2L).build()), Duration.ofHours(1))) {
+
+            assertFalse(tokenEpochs.isCurrent("user123", 1L));
+            assertTrue(tokenEpochs.isCurrent("user123", 2L));
+            assertTrue(tokenEpochs.isCurrent("user456", 0L));
+
+            tokenEpochs.advance("user456", 1L);
+            assertFalse(tokenEpochs.isCurrent("user456", 0L));
+        }
+    }
+}
@@ -3,20 +3,21 @@ package com.investbank.dealpipeline.security;
 import com.investbank.dealpipeline.model.Role;
 import com.investbank.dealpipeline.model.User;
 import com.investbank.dealpipeline.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class UserDetailsServiceImplTest {
@@ -24,7 +25,6 @@ class UserDetailsServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
     private UserDetailsServiceImpl userDetailsService;
 
     private User activeUser;
@@ -32,6 +32,9 @@ class UserDetailsServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        userDetailsService = new UserDetailsServiceImpl(userRepository, 100, Duration.ofMinutes(5),
+                new SimpleMeterRegistry());
+
         activeUser = new User();
         activeUser.setId("user123");
         activeUser.setUsername("testuser");
@@ -121,4 +124,37 @@ class UserDetailsServiceImplTest {
         assertThrows(UsernameNotFoundException.class, 
                 () -> userDetailsService.loadUserByUsername("testuser2"));
     }
+
+    @Test
+    void shouldServeRepeatLookupsFromCache() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(activeUser));
+
+        UserDetails first = userDetailsService.loadUserByUsername("testuser");
+        ((AuthenticatedUser) first).eraseCredentials();
+        UserDetails second = userDetailsService.loadUserByUsername("testuser");
+
+        // Each caller gets its own principal, so erasing one password does not reach the cached user
+        assertEquals("hashedPassword", second.getPassword());
+        verify(userRepository, times(1)).findByUsername("testuser");
+    }
+
+    @Test
+    void shouldReloadAfterEviction() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(activeUser));
+        userDetailsService.loadUserByUsername("testuser");
+
+        User deactivated = User.builder().id("user123").username("testuser").role(Role.USER).active(false).build();
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(deactivated));
+        userDetailsService.evict("testuser");
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("testuser"));
+    }
+
+    @Test
+    void shouldNotCacheUnknownUsers() {
+        when(userRepository.findByUsername("newuser")).thenReturn(Optional.empty()).thenReturn(Optional.of(activeUser));
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("newuser"));
+        assertNotNull(userDetailsService.loadUserByUsername("newuser"));
+    }
 }
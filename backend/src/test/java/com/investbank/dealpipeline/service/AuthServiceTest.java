@@ -4,10 +4,16 @@ import com.investbank.dealpipeline.dto.request.CreateUserRequest;
 import com.investbank.dealpipeline.dto.request.LoginRequest;
 import com.investbank.dealpipeline.dto.response.LoginResponse;
 import com.investbank.dealpipeline.exception.BadRequestException;
+import com.investbank.dealpipeline.exception.UnauthorizedException;
 import com.investbank.dealpipeline.model.Role;
 import com.investbank.dealpipeline.model.User;
+import com.investbank.dealpipeline.repository.RevokedTokenRepository;
 import com.investbank.dealpipeline.repository.UserRepository;
 import com.investbank.dealpipeline.security.JwtTokenProvider;
+import com.investbank.dealpipeline.security.RevokedTokens;
+import com.investbank.dealpipeline.security.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,10 +26,13 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +50,18 @@ class AuthServiceTest {
     @Mock
     private JwtTokenProvider jwtTokenProvider;
     
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+    
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+    
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+    
+    @Mock
+    private RevokedTokens revokedTokens;
+    
     @Mock
     private Authentication authentication;
     
@@ -89,6 +110,8 @@ class AuthServiceTest {
         assertEquals("testuser", result.getUsername());
         assertEquals("test@example.com", result.getEmail());
         verify(userRepository, times(1)).save(any(User.class));
+        verify(userDetailsService).evict("testuser");
+        verify(kafkaProducerService).publishUserStatusChangedEvent(any());
     }
     
     @Test
@@ -134,4 +157,44 @@ class AuthServiceTest {
         
         assertThrows(BadRequestException.class, () -> authService.login(loginRequest));
     }
+    
+    @Test
+    void logout_RevokesTokenEverywhere() {
+        Date expiration = new Date((System.currentTimeMillis() / 1000 + 3600) * 1000);
+        Claims claims = Jwts.claims()
+                .id("token123")
+                .subject("testuser")
+                .expiration(expiration)
+                .add(JwtTokenProvider.USER_ID_CLAIM, "user123")
+                .build();
+        when(jwtTokenProvider.getValidatedClaims("jwt-token")).thenReturn(claims);
+        
+        authService.logout("jwt-token");
+        
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault());
+        verify(revokedTokenRepository).save(argThat(token -> token.getId().equals("token123")
+                && token.getUserId().equals("user123")
+                && token.getExpiresAt().equals(expiresAt)));
+        verify(revokedTokens).add("token123", expiresAt);
+        verify(kafkaProducerService).publishTokenRevokedEvent(argThat(event ->
+                event.getTokenId().equals("token123") && event.getEventType().equals("TOKEN_REVOKED")));
+    }
+    
+    @Test
+    void logout_InvalidToken_ThrowsException() {
+        when(jwtTokenProvider.getValidatedClaims("bad-token")).thenReturn(null);
+        
+        assertThrows(UnauthorizedException.class, () -> authService.logout("bad-token"));
+        
+        verifyNoInteractions(revokedTokenRepository, revokedTokens, kafkaProducerService);
+    }
+    
+    @Test
+    void logout_TokenWithoutId_ThrowsException() {
+        when(jwtTokenProvider.getValidatedClaims("legacy-token")).thenReturn(Jwts.claims().subject("testuser").build());
+        
+        assertThrows(BadRequestException.class, () -> authService.logout("legacy-token"));
+        
+        verifyNoInteractions(revokedTokenRepository, revokedTokens, kafkaProducerService);
+    }
 }
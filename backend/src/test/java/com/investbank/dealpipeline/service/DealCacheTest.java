@@ -0,0 +1,90 @@
+package com.investbank.dealpipeline.service;
+
+import com.investbank.dealpipeline.model.Deal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DealCacheTest {
+
+    private final DealCache dealCache = new DealCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+    private final DealCache.CachedDeal deal = new DealCache.CachedDeal(
+            Deal.builder().id("deal123").clientName("Acme").version(1L).build(), List.of());
+
+    @Test
+    void get_MissingDeal_IsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertTrue(dealCache.get("deal123", id -> countedLoad(loads, Optional.empty())).isEmpty());
+        assertEquals(Optional.of(deal), dealCache.get("deal123", id -> countedLoad(loads, Optional.of(deal))));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_FailedLoad_IsRethrownAndNotCached() {
+        RuntimeException failure = new RuntimeException("Mongo unavailable");
+
+        assertSame(failure, assertThrows(RuntimeException.class, () -> dealCache.get("deal123", id -> {
+            throw failure;
+        })));
+        assertEquals(Optional.of(deal), dealCache.get("deal123", id -> Optional.of(deal)));
+    }
+
+    @Test
+    void get_ConcurrentMisses_ShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Optional<DealCache.CachedDeal>> first = CompletableFuture.supplyAsync(() -> dealCache.get("deal123", id -> {
+            loading.countDown();
+            await(release);
+            return countedLoad(loads, Optional.of(deal));
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Optional<DealCache.CachedDeal>> second = CompletableFuture.supplyAsync(
+                () -> dealCache.get("deal123", id -> countedLoad(loads, Optional.of(deal))));
+        release.countDown();
+
+        assertEquals(Optional.of(deal), first.get(5, TimeUnit.SECONDS));
+        assertEquals(Optional.of(deal), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void evict_ForcesReload() {
+        AtomicInteger loads = new AtomicInteger();
+
+        dealCache.get("deal123", id -> countedLoad(loads, Optional.of(deal)));
+        dealCache.evict("deal123");
+        dealCache.get("deal123", id -> countedLoad(loads, Optional.of(deal)));
+
+        assertEquals(2, loads.get());
+    }
+
+    private Optional<DealCache.CachedDeal> countedLoad(AtomicInteger loads, Optional<DealCache.CachedDeal> result) {
+        loads.incrementAndGet();
+        return result;
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.investbank.dealpipeline.service;
+
+import com.investbank.dealpipeline.exception.BadRequestException;
+import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.model.DealStage;
+import com.investbank.dealpipeline.repository.DealRepository;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DealExportServiceTest {
+
+    @Mock
+    private DealRepository dealRepository;
+
+    @InjectMocks
+    private DealExportService dealExportService;
+
+    private Deal deal;
+
+    @BeforeEach
+    void setUp() {
+        deal = Deal.builder()
+                .id("deal1")
+                .clientName("Acme, Inc.")
+                .dealValue(1000L)
+                .currentStage(DealStage.Prospect)
+                .updatedAt(LocalDateTime.of(2024, 1, 15, 10, 30))
+                .build();
+    }
+
+    @Test
+    void resolveColumns_DefaultsToEveryColumn() {
+        assertEquals(List.of(DealExportService.Column.values()), dealExportService.resolveColumns(null));
+    }
+
+    @Test
+    void resolveColumns_KeepsRequestedOrderAndRejectsUnknown() {
+        assertEquals(List.of(DealExportService.Column.DEAL_VALUE, DealExportService.Column.CLIENT_NAME),
+                dealExportService.resolveColumns(List.of("dealValue", "clientName", "dealValue")));
+
+        assertThrows(BadRequestException.class, () -> dealExportService.resolveColumns(List.of("password")));
+    }
+
+    @Test
+    void writeCsv_ProjectsSelectedColumnsOnly() throws Exception {
+        List<DealExportService.Column> columns = dealExportService.resolveColumns(
+                List.of("clientName", "dealValue", "currentStage", "updatedAt"));
+        when(dealRepository.streamProjected(Set.of("clientName", "dealValue", "currentStage", "updatedAt")))
+                .thenReturn(Stream.of(deal));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        dealExportService.writeCsv(columns, output);
+
+        assertEquals("clientName,dealValue,currentStage,updatedAt\n"
+                        + "\"Acme, Inc.\",1000,Prospect,2024-01-15T10:30\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writeXlsx_WritesHeaderAndTypedCells() throws Exception {
+        List<DealExportService.Column> columns = dealExportService.resolveColumns(
+                List.of("clientName", "dealValue", "updatedAt"));
+        when(dealRepository.streamProjected(Set.of("clientName", "dealValue", "updatedAt")))
+                .thenReturn(Stream.of(deal));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        dealExportService.writeXlsx(columns, output);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Deals");
+            assertEquals("dealValue", sheet.getRow(0).getCell(1).getStringCellValue());
+
+            Row row = sheet.getRow(1);
+            assertEquals("Acme, Inc.", row.getCell(0).getStringCellValue());
+            assertEquals(1000d, row.getCell(1).getNumericCellValue());
+            assertEquals(LocalDateTime.of(2024, 1, 15, 10, 30), row.getCell(2).getLocalDateTimeCellValue());
+            assertEquals(1, sheet.getLastRowNum());
+        }
+    }
+
+    @Test
+    void export_NeutralizesFormulaLikeText() throws Exception {
+        deal.setClientName("=HYPERLINK(\"http://evil.example\")");
+        deal.setSummary("-2+3");
+        List<DealExportService.Column> columns = dealExportService.resolveColumns(List.of("clientName", "summary"));
+        when(dealRepository.streamProjected(Set.of("clientName", "summary")))
+                .thenReturn(Stream.of(deal), Stream.of(deal));
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        dealExportService.writeCsv(columns, csv);
+        assertEquals("clientName,summary\n"
+                        + "\"'=HYPERLINK(\"\"http://evil.example\"\")\",\"'-2+3\"\n",
+                csv.toString(StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream xlsx = new ByteArrayOutputStream();
+        dealExportService.writeXlsx(columns, xlsx);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(xlsx.toByteArray()))) {
+            Row row = workbook.getSheet("Deals").getRow(1);
+            assertEquals("'=HYPERLINK(\"http://evil.example\")", row.getCell(0).getStringCellValue());
+            assertEquals("'-2+3", row.getCell(1).getStringCellValue());
+        }
+    }
+}
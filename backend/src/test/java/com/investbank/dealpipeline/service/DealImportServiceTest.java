@@ -0,0 +1,130 @@
+package com.investbank.dealpipeline.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investbank.dealpipeline.dto.event.DealCreatedEvent;
+import com.investbank.dealpipeline.dto.response.DealImportResponse;
+import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.model.DealStage;
+import com.investbank.dealpipeline.repository.DealRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealImportServiceTest {
+
+    private static final String HEADER = "clientName,dealType,sector,dealValue,currentStage,summary\n";
+
+    @Mock
+    private DealRepository dealRepository;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    @Mock
+    private DealSummarySnapshot dealSummarySnapshot;
+
+    private DealImportService dealImportService;
+
+    @BeforeEach
+    void setUp() {
+        dealImportService = new DealImportService(dealRepository, kafkaProducerService, dealSummarySnapshot, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(dealImportService, "batchSize", 2);
+
+        lenient().when(dealRepository.insert(anyList())).thenAnswer(invocation -> {
+            List<Deal> deals = new ArrayList<>(invocation.getArgument(0));
+            deals.forEach(deal -> deal.setId("id-" + deal.getClientName()));
+            return deals;
+        });
+    }
+
+    @Test
+    void importCsv_InsertsInBatchesAndPublishesEvents() {
+        String csv = HEADER
+                + "Acme,M&A,Tech,1000,Prospect,First\n"
+                + "Globex,IPO,Energy,2000,Closed,Second\n"
+                + "Initech,Advisory,Finance,3000,Lost,Third\n";
+
+        DealImportResponse result = dealImportService.importCsv(stream(csv), "user123");
+
+        assertEquals(3, result.getProcessed());
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getFailed());
+        assertTrue(result.getErrors().isEmpty());
+
+        ArgumentCaptor<List<Deal>> batches = ArgumentCaptor.forClass(List.class);
+        verify(dealRepository, times(2)).insert(batches.capture());
+        Deal first = batches.getAllValues().get(0).get(0);
+        assertEquals("Acme", first.getClientName());
+        assertEquals(DealStage.Prospect, first.getCurrentStage());
+        assertEquals(1000L, first.getDealValue());
+        assertEquals("user123", first.getCreatedBy());
+        assertEquals("user123", first.getAssignedTo());
+
+        ArgumentCaptor<List<DealCreatedEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(kafkaProducerService, times(2)).publishDealCreatedEvents(events.capture());
+        assertEquals("id-Acme", events.getAllValues().get(0).get(0).getDealId());
+        assertEquals(1, events.getAllValues().get(1).size());
+    }
+
+    @Test
+    void importCsv_ReportsInvalidRowsAndKeepsGoing() {
+        String csv = HEADER
+                + ",M&A,Tech,1000,Prospect,Missing client\n"
+                + "Acme,M&A,Tech,lots,Prospect,Bad number\n"
+                + "Globex,IPO,Energy,2000,Closed,Fine\n";
+
+        DealImportResponse result = dealImportService.importCsv(stream(csv), "user123");
+
+        assertEquals(3, result.getProcessed());
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertTrue(result.getErrors().get(0).getMessage().contains("clientName"));
+        assertEquals(2, result.getErrors().get(1).getRow());
+        assertTrue(result.getErrors().get(1).getMessage().startsWith("Unreadable row"));
+        assertFalse(result.isAborted());
+    }
+
+    @Test
+    void importNdjson_StopsAtBrokenFraming() {
+        String ndjson = "{\"clientName\":\"Acme\",\"dealType\":\"M&A\",\"sector\":\"Tech\",\"dealValue\":1000,\"currentStage\":\"Prospect\"}\n"
+                + "{\"clientName\":\"Globex\",\"dealType\":\"IPO\",\"sector\":\n";
+
+        DealImportResponse result = dealImportService.importNdjson(stream(ndjson), "user123");
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertTrue(result.isAborted());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        verify(dealRepository, times(1)).insert(anyList());
+    }
+
+    @Test
+    void importCsv_EmptyUpload_InsertsNothing() {
+        DealImportResponse result = dealImportService.importCsv(stream(HEADER), "user123");
+
+        assertEquals(0, result.getProcessed());
+        verifyNoInteractions(dealRepository, kafkaProducerService, dealSummarySnapshot);
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
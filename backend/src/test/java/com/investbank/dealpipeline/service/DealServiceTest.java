@@ -1,33 +1,62 @@
 package com.investbank.dealpipeline.service;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.investbank.dealpipeline.dto.event.DealStageUpdatedEvent;
+import com.investbank.dealpipeline.dto.event.DealUpdatedEvent;
 import com.investbank.dealpipeline.dto.request.AddNoteRequest;
 import com.investbank.dealpipeline.dto.request.CreateDealRequest;
+import com.investbank.dealpipeline.dto.request.DealFilterRequest;
+import com.investbank.dealpipeline.dto.request.StageTransitionRequest;
 import com.investbank.dealpipeline.dto.request.UpdateDealRequest;
+import com.investbank.dealpipeline.dto.response.BatchStageUpdateResponse;
+import com.investbank.dealpipeline.dto.response.CursorPageResponse;
 import com.investbank.dealpipeline.dto.response.DealResponse;
 import com.investbank.dealpipeline.dto.response.DealSummaryResponse;
+import com.investbank.dealpipeline.dto.response.StageTransitionResult;
 import com.investbank.dealpipeline.exception.BadRequestException;
+import com.investbank.dealpipeline.exception.ConflictException;
+import com.investbank.dealpipeline.exception.PreconditionFailedException;
 import com.investbank.dealpipeline.exception.ResourceNotFoundException;
 import com.investbank.dealpipeline.mapper.DealMapper;
 import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.model.DealNote;
 import com.investbank.dealpipeline.model.DealStage;
+import com.investbank.dealpipeline.model.Note;
 import com.investbank.dealpipeline.model.Role;
+import com.investbank.dealpipeline.repository.DealNoteRepository;
 import com.investbank.dealpipeline.repository.DealRepository;
+import com.investbank.dealpipeline.util.KeysetCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.query.Update;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,9 +65,26 @@ class DealServiceTest {
     @Mock
     private DealRepository dealRepository;
     
+    @Mock
+    private DealNoteRepository dealNoteRepository;
+    
     @Mock
     private DealMapper dealMapper;
     
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+    
+    @Mock
+    private DealSummarySnapshot dealSummarySnapshot;
+    
+    @Spy
+    private DealCache dealCache = new DealCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+    
+    @Spy
+    private DealSummaryFragments dealSummaryFragments = new DealSummaryFragments(new DealMapper(),
+            new ObjectMapper().findAndRegisterModules().setSerializationInclusion(JsonInclude.Include.NON_NULL),
+            100, new SimpleMeterRegistry());
+    
     @InjectMocks
     private DealService dealService;
     
@@ -76,7 +122,6 @@ class DealServiceTest {
                 .dealValue(1000000L)
                 .currentStage(DealStage.Prospect)
                 .summary("Test deal")
-                .notes(new ArrayList<>())
                 .createdBy("user123")
                 .assignedTo("user123")
                 .createdAt(LocalDateTime.now())
@@ -124,27 +169,43 @@ class DealServiceTest {
     @Test
     void getAllDeals_Success() {
         List<Deal> deals = Arrays.asList(deal);
-        when(dealRepository.findAll()).thenReturn(deals);
+        when(dealRepository.findAllForListing()).thenReturn(deals);
         when(dealMapper.toResponse(any(Deal.class), any(Role.class))).thenReturn(dealResponse);
         
         List<DealResponse> result = dealService.getAllDeals(Role.USER);
         
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(dealRepository, times(1)).findAll();
+        verify(dealRepository, times(1)).findAllForListing();
     }
     
     @Test
     void getAllDealsSummary_Success() {
         List<Deal> deals = Arrays.asList(deal);
-        when(dealRepository.findAll()).thenReturn(deals);
+        when(dealRepository.findAllSummaries()).thenReturn(deals);
         when(dealMapper.toSummaryResponse(any(Deal.class))).thenReturn(dealSummaryResponse);
         
         List<DealSummaryResponse> result = dealService.getAllDealsSummary();
         
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(dealRepository, times(1)).findAll();
+        verify(dealRepository, times(1)).findAllSummaries();
+        verify(dealRepository, never()).findAllForListing();
+    }
+    
+    @Test
+    void streamAllDeals_MapsEachDealLazily() {
+        when(dealRepository.streamAll()).thenReturn(Stream.of(deal, deal));
+        when(dealMapper.toResponse(any(Deal.class), any(Role.class))).thenReturn(dealResponse);
+        
+        List<DealResponse> result;
+        try (Stream<DealResponse> stream = dealService.streamAllDeals(Role.USER)) {
+            verify(dealMapper, never()).toResponse(any(Deal.class), any(Role.class));
+            result = stream.collect(Collectors.toList());
+        }
+        
+        assertEquals(2, result.size());
+        verify(dealRepository, never()).findAllForListing();
     }
     
     @Test
@@ -159,6 +220,34 @@ class DealServiceTest {
         verify(dealRepository, times(1)).findById("deal123");
     }
     
+    @Test
+    void getDealById_RepeatedRead_IsServedFromCache() {
+        when(dealRepository.findById("deal123")).thenReturn(Optional.of(deal));
+        when(dealMapper.toResponse(any(Deal.class), any(Role.class))).thenReturn(dealResponse);
+        
+        dealService.getDealById("deal123", Role.USER);
+        dealService.getDealById("deal123", Role.USER);
+        
+        verify(dealRepository, times(1)).findById("deal123");
+    }
+    
+    @Test
+    void getDealById_AfterUpdate_ReloadsAndPublishesEviction() {
+        when(dealRepository.findById("deal123")).thenReturn(Optional.of(deal));
+        when(dealRepository.updateAndGet(eq("deal123"), isNull(), any(Update.class))).thenReturn(Optional.of(deal));
+        when(dealMapper.toResponse(any(Deal.class), any(Role.class))).thenReturn(dealResponse);
+        
+        dealService.getDealById("deal123", Role.USER);
+        dealService.updateDeal("deal123", updateDealRequest, null, Role.USER);
+        dealService.getDealById("deal123", Role.USER);
+        
+        verify(dealRepository, times(2)).findById("deal123");
+        ArgumentCaptor<DealUpdatedEvent> event = ArgumentCaptor.forClass(DealUpdatedEvent.class);
+        verify(kafkaProducerService).publishDealUpdatedEvent(event.capture());
+        assertEquals("DEAL_UPDATED", event.getValue().getEventType());
+        assertEquals("deal123", event.getValue().getDealId());
+    }
+    
     @Test
     void getDealById_NotFound_ThrowsException() {
         when(dealRepository.findById(anyString())).thenReturn(Optional.empty());
@@ -167,70 +256,222 @@ class DealServiceTest {
                 dealService.getDealById("deal123", Role.USER));
     }
     
+    @Test
+    void getDealById_IncludesLatestNotesOldestFirst() {
+        deal.setNoteCount(2);
+        LocalDateTime now = LocalDateTime.now();
+        DealNote newer = DealNote.builder().id("n2").dealId("deal123").note("second").timestamp(now).build();
+        DealNote older = DealNote.builder().id("n1").dealId("deal123").note("first").timestamp(now.minusMinutes(1)).build();
+        when(dealRepository.findById("deal123")).thenReturn(Optional.of(deal));
+        when(dealMapper.toResponse(any(Deal.class), any(Role.class))).thenReturn(dealResponse);
+        when(dealNoteRepository.findPage("deal123", null, DealService.NOTE_PREVIEW_SIZE))
+                .thenReturn(Arrays.asList(newer, older));
+        when(dealMapper.toNote(any(DealNote.class)))
+                .thenAnswer(inv -> Note.builder().note(inv.<DealNote>getArgument(0).getNote()).build());
+        
+        DealResponse result = dealService.getDealById("deal123", Role.USER);
+        
+        assertEquals(Arrays.asList("first", "second"),
+                result.getNotes().stream().map(Note::getNote).collect(Collectors.toList()));
+    }
+    
+    @Test
+    void getDealById_RepeatedRead_ServesNotesFromCache() {
+        deal.setNoteCount(1);
+        DealNote only = DealNote.builder().id("n1").dealId("deal123").note("first").timestamp(LocalDateTime.now()).build();
+        when(dealRepository.findById("deal123")).thenReturn(Optional.of(deal));
+        when(dealMapper.toResponse(any(Deal.class), any(Role.class))).thenReturn(dealResponse);
+        when(dealNoteRepository.findPage("deal123", null, DealService.NOTE_PREVIEW_SIZE)).thenReturn(List.of(only));
+        when(dealMapper.toNote(only)).thenReturn(Note.builder().note("first").build());
+        
+        dealService.getDealById("deal123", Role.USER);
+        DealResponse result = dealService.getDealById("deal123", Role.USER);
+        
+        assertEquals("first", result.getNotes().get(0).getNote());
+        verify(dealNoteRepository, times(1)).findPage("deal123", null, DealService.NOTE_PREVIEW_SIZE);
+    }
+    
+    @Test
+    void getDealById_WithoutNotes_SkipsNotesQuery() {
+        when(dealRepository.findById("deal123")).thenReturn(Optional.of(deal));
+        when(dealMapper.toResponse(any(Deal.class), any(Role.class))).thenReturn(dealResponse);
+        
+        DealResponse result = dealService.getDealById("deal123", Role.USER);
+        
+        assertTrue(result.getNotes().isEmpty());
+        verifyNoInteractions(dealNoteRepository);
+    }
+    
+    @Test
+    void getDealNotes_ReturnsPageWithCursor() {
+        LocalDateTime now = LocalDateTime.now();
+        List<DealNote> notes = Arrays.asList(
+                DealNote.builder().id("n3").dealId("deal123").note("c").timestamp(now).build(),
+                DealNote.builder().id("n2").dealId("deal123").note("b").timestamp(now.minusMinutes(1)).build(),
+                DealNote.builder().id("n1").dealId("deal123").note("a").timestamp(now.minusMinutes(2)).build());
+        when(dealNoteRepository.findPage("deal123", null, 3)).thenReturn(notes);
+        when(dealMapper.toNote(any(DealNote.class))).thenReturn(Note.builder().build());
+        
+        CursorPageResponse<Note> result = dealService.getDealNotes("deal123", null, 2);
+        
+        assertEquals(2, result.getSize());
+        assertTrue(result.isHasMore());
+        assertEquals("n2", KeysetCursor.decode(result.getNextCursor()).getId());
+        verify(dealRepository, never()).existsById(anyString());
+    }
+    
+    @Test
+    void getDealNotes_UnknownDeal_ThrowsException() {
+        when(dealNoteRepository.findPage(eq("missing"), any(), anyInt())).thenReturn(Arrays.asList());
+        when(dealRepository.existsById("missing")).thenReturn(false);
+        
+        assertThrows(ResourceNotFoundException.class, () -> 
+                dealService.getDealNotes("missing", null, null));
+    }
+    
     @Test
     void updateDeal_Success() {
-        when(dealRepository.findById(anyString())).thenReturn(Optional.of(deal));
-        when(dealRepository.save(any(Deal.class))).thenReturn(deal);
+        when(dealRepository.updateAndGet(eq("deal123"), isNull(), any(Update.class))).thenReturn(Optional.of(deal));
         when(dealMapper.toResponse(any(Deal.class), any(Role.class))).thenReturn(dealResponse);
         
-        DealResponse result = dealService.updateDeal("deal123", updateDealRequest, Role.USER);
+        DealResponse result = dealService.updateDeal("deal123", updateDealRequest, null, Role.USER);
         
         assertNotNull(result);
-        verify(dealRepository, times(1)).save(any(Deal.class));
+        verify(dealRepository, never()).findById(anyString());
+        verify(dealRepository, never()).save(any(Deal.class));
+    }
+    
+    @Test
+    void updateDeal_IncludesLatestNotes() {
+        deal.setNoteCount(1);
+        when(dealRepository.updateAndGet(eq("deal123"), isNull(), any(Update.class))).thenReturn(Optional.of(deal));
+        when(dealMapper.toResponse(any(Deal.class), any(Role.class))).thenReturn(dealResponse);
+        when(dealNoteRepository.findPage("deal123", null, DealService.NOTE_PREVIEW_SIZE))
+                .thenReturn(Arrays.asList(DealNote.builder().id("n1").dealId("deal123").note("first").build()));
+        when(dealMapper.toNote(any(DealNote.class)))
+                .thenAnswer(inv -> Note.builder().note(inv.<DealNote>getArgument(0).getNote()).build());
+        
+        DealResponse result = dealService.updateDeal("deal123", updateDealRequest, null, Role.USER);
+        
+        assertEquals(Arrays.asList("first"),
+                result.getNotes().stream().map(Note::getNote).collect(Collectors.toList()));
     }
     
     @Test
     void updateDealStage_Success() {
-        when(dealRepository.findById(anyString())).thenReturn(Optional.of(deal));
-        when(dealRepository.save(any(Deal.class))).thenReturn(deal);
+        deal.setVersion(3L);
+        when(dealRepository.transitionStage(eq("deal123"), isNull(), isNull(), eq(DealStage.Closed), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(deal));
         when(dealMapper.toResponse(any(Deal.class), any(Role.class))).thenReturn(dealResponse);
         
-        DealResponse result = dealService.updateDealStage("deal123", DealStage.Closed, Role.USER);
+        DealResponse result = dealService.updateDealStage("deal123", DealStage.Closed, null, null, Role.USER);
         
         assertNotNull(result);
-        verify(dealRepository, times(1)).save(any(Deal.class));
+        ArgumentCaptor<Deal> mapped = ArgumentCaptor.forClass(Deal.class);
+        verify(dealMapper).toResponse(mapped.capture(), eq(Role.USER));
+        assertEquals(DealStage.Closed, mapped.getValue().getCurrentStage());
+        assertEquals(4L, mapped.getValue().getVersion());
+        
+        ArgumentCaptor<DealStageUpdatedEvent> event = ArgumentCaptor.forClass(DealStageUpdatedEvent.class);
+        verify(kafkaProducerService).publishDealStageUpdatedEvent(event.capture());
+        assertEquals("Prospect", event.getValue().getPreviousStage());
+        assertEquals("Closed", event.getValue().getNewStage());
+        verify(dealRepository, never()).findById(anyString());
+        verify(dealRepository, never()).save(any(Deal.class));
     }
     
     @Test
     void updateDealValue_Success_AdminRole() {
-        when(dealRepository.findById(anyString())).thenReturn(Optional.of(deal));
-        when(dealRepository.save(any(Deal.class))).thenReturn(deal);
+        when(dealRepository.updateAndGet(eq("deal123"), isNull(), any(Update.class))).thenReturn(Optional.of(deal));
         when(dealMapper.toResponse(any(Deal.class), any(Role.class))).thenReturn(dealResponse);
         
-        DealResponse result = dealService.updateDealValue("deal123", 2000000L, Role.ADMIN);
+        DealResponse result = dealService.updateDealValue("deal123", 2000000L, null, Role.ADMIN);
         
         assertNotNull(result);
-        verify(dealRepository, times(1)).save(any(Deal.class));
+        ArgumentCaptor<Update> captor = ArgumentCaptor.forClass(Update.class);
+        verify(dealRepository).updateAndGet(eq("deal123"), isNull(), captor.capture());
+        Document set = (Document) captor.getValue().getUpdateObject().get("$set");
+        assertEquals(2000000L, set.get("dealValue"));
+        verify(dealRepository, never()).save(any(Deal.class));
     }
     
     @Test
     void updateDealValue_UserRole_ThrowsException() {
         assertThrows(BadRequestException.class, () -> 
-                dealService.updateDealValue("deal123", 2000000L, Role.USER));
+                dealService.updateDealValue("deal123", 2000000L, null, Role.USER));
         
         verify(dealRepository, never()).save(any(Deal.class));
     }
     
     @Test
     void addNote_Success() {
-        when(dealRepository.findById(anyString())).thenReturn(Optional.of(deal));
-        when(dealRepository.save(any(Deal.class))).thenReturn(deal);
+        when(dealRepository.updateAndGet(eq("deal123"), any(Update.class))).thenReturn(Optional.of(deal));
         when(dealMapper.toResponse(any(Deal.class), any(Role.class))).thenReturn(dealResponse);
         
         DealResponse result = dealService.addNote("deal123", addNoteRequest, "user123", Role.USER);
         
         assertNotNull(result);
-        verify(dealRepository, times(1)).save(any(Deal.class));
+        ArgumentCaptor<Update> captor = ArgumentCaptor.forClass(Update.class);
+        verify(dealRepository).updateAndGet(eq("deal123"), captor.capture());
+        Document update = captor.getValue().getUpdateObject();
+        assertEquals(1, ((Document) update.get("$inc")).get("noteCount"));
+        Note lastNote = (Note) ((Document) update.get("$set")).get("lastNote");
+        assertEquals("Test note", lastNote.getNote());
+        
+        ArgumentCaptor<DealNote> inserted = ArgumentCaptor.forClass(DealNote.class);
+        verify(dealNoteRepository).insert(inserted.capture());
+        assertEquals("deal123", inserted.getValue().getDealId());
+        assertEquals("Test note", inserted.getValue().getNote());
+        assertEquals("user123", inserted.getValue().getUserId());
+        verify(dealRepository, never()).save(any(Deal.class));
+    }
+    
+    @Test
+    void appendNote_ReturnsOnlyTheNote() {
+        when(dealRepository.updateById(eq("deal123"), any(Update.class))).thenReturn(true);
+        
+        Note result = dealService.appendNote("deal123", addNoteRequest, "user123");
+        
+        assertEquals("Test note", result.getNote());
+        assertEquals("user123", result.getUserId());
+        assertNotNull(result.getTimestamp());
+        verify(dealRepository, never()).updateAndGet(anyString(), any(Update.class));
+        verify(dealNoteRepository, times(1)).insert(any(DealNote.class));
+        verifyNoInteractions(dealMapper);
+    }
+    
+    @Test
+    void appendNote_NotFound_ThrowsException() {
+        when(dealRepository.updateById(eq("deal123"), any(Update.class))).thenReturn(false);
+        
+        assertThrows(ResourceNotFoundException.class, () -> 
+                dealService.appendNote("deal123", addNoteRequest, "user123"));
+        
+        verify(dealNoteRepository, never()).insert(any(DealNote.class));
     }
     
     @Test
     void deleteDeal_Success() {
-        when(dealRepository.findById(anyString())).thenReturn(Optional.of(deal));
-        doNothing().when(dealRepository).delete(any(Deal.class));
+        when(dealRepository.removeById("deal123", null)).thenReturn(true);
+        
+        dealService.deleteDeal("deal123", null);
+        
+        verify(dealRepository, times(1)).removeById("deal123", null);
+        verify(dealNoteRepository, times(1)).deleteByDealId("deal123");
+        verify(dealCache).evict("deal123");
+        verify(dealSummarySnapshot).markStale("deal123");
+        verify(kafkaProducerService).publishDealUpdatedEvent(argThat(event -> "DEAL_DELETED".equals(event.getEventType())));
+    }
+    
+    @Test
+    void deleteDeal_StaleVersion_ThrowsPreconditionFailed() {
+        when(dealRepository.removeById("deal123", 2L)).thenReturn(false);
+        when(dealRepository.existsById("deal123")).thenReturn(true);
         
-        dealService.deleteDeal("deal123");
+        assertThrows(PreconditionFailedException.class, () -> 
+                dealService.deleteDeal("deal123", 2L));
         
-        verify(dealRepository, times(1)).delete(any(Deal.class));
+        verifyNoInteractions(dealNoteRepository);
     }
     
     @Test
@@ -256,14 +497,21 @@ class DealServiceTest {
                 .assignedTo("user456")
                 .build();
 
-        when(dealRepository.findById(anyString())).thenReturn(Optional.of(deal));
-        when(dealRepository.save(any(Deal.class))).thenReturn(deal);
+        when(dealRepository.updateAndGet(eq("deal123"), isNull(), any(Update.class))).thenReturn(Optional.of(deal));
         when(dealMapper.toResponse(any(Deal.class), any(Role.class))).thenReturn(dealResponse);
         
-        DealResponse result = dealService.updateDeal("deal123", fullRequest, Role.USER);
+        DealResponse result = dealService.updateDeal("deal123", fullRequest, null, Role.USER);
         
         assertNotNull(result);
-        verify(dealRepository, times(1)).save(any(Deal.class));
+        ArgumentCaptor<Update> captor = ArgumentCaptor.forClass(Update.class);
+        verify(dealRepository).updateAndGet(eq("deal123"), isNull(), captor.capture());
+        Document set = (Document) captor.getValue().getUpdateObject().get("$set");
+        assertEquals("Updated Client", set.get("clientName"));
+        assertEquals("IPO", set.get("dealType"));
+        assertEquals("Finance", set.get("sector"));
+        assertEquals("Updated summary", set.get("summary"));
+        assertEquals("user456", set.get("assignedTo"));
+        assertNotNull(set.get("updatedAt"));
     }
 
     @Test
@@ -272,43 +520,162 @@ class DealServiceTest {
                 .clientName("Updated Client")
                 .build();
 
-        when(dealRepository.findById(anyString())).thenReturn(Optional.of(deal));
-        when(dealRepository.save(any(Deal.class))).thenReturn(deal);
+        when(dealRepository.updateAndGet(eq("deal123"), isNull(), any(Update.class))).thenReturn(Optional.of(deal));
         when(dealMapper.toResponse(any(Deal.class), any(Role.class))).thenReturn(dealResponse);
         
-        DealResponse result = dealService.updateDeal("deal123", partialRequest, Role.USER);
+        DealResponse result = dealService.updateDeal("deal123", partialRequest, null, Role.USER);
         
         assertNotNull(result);
-        verify(dealRepository, times(1)).save(any(Deal.class));
+        ArgumentCaptor<Update> captor = ArgumentCaptor.forClass(Update.class);
+        verify(dealRepository).updateAndGet(eq("deal123"), isNull(), captor.capture());
+        Document set = (Document) captor.getValue().getUpdateObject().get("$set");
+        assertEquals("Updated Client", set.get("clientName"));
+        assertFalse(set.containsKey("dealType"));
+        assertFalse(set.containsKey("summary"));
     }
 
     @Test
     void updateDeal_NotFound_ThrowsException() {
-        when(dealRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(dealRepository.updateAndGet(anyString(), isNull(), any(Update.class))).thenReturn(Optional.empty());
+        
+        assertThrows(ResourceNotFoundException.class, () -> 
+                dealService.updateDeal("deal123", updateDealRequest, null, Role.USER));
+    }
+
+    @Test
+    void updateDeal_WithIfMatch_WritesConditionally() {
+        when(dealRepository.updateAndGet(eq("deal123"), eq(4L), any(Update.class))).thenReturn(Optional.of(deal));
+        when(dealMapper.toResponse(any(Deal.class), any(Role.class))).thenReturn(dealResponse);
+        
+        dealService.updateDeal("deal123", updateDealRequest, 4L, Role.USER);
+        
+        verify(dealRepository, never()).existsById(anyString());
+    }
+
+    @Test
+    void updateDeal_StaleVersion_ThrowsPreconditionFailed() {
+        when(dealRepository.updateAndGet(eq("deal123"), eq(4L), any(Update.class))).thenReturn(Optional.empty());
+        when(dealRepository.existsById("deal123")).thenReturn(true);
+        
+        assertThrows(PreconditionFailedException.class, () -> 
+                dealService.updateDeal("deal123", updateDealRequest, 4L, Role.USER));
+    }
+
+    @Test
+    void updateDeal_StaleVersionOnMissingDeal_ThrowsNotFound() {
+        when(dealRepository.updateAndGet(eq("deal123"), eq(4L), any(Update.class))).thenReturn(Optional.empty());
+        when(dealRepository.existsById("deal123")).thenReturn(false);
         
         assertThrows(ResourceNotFoundException.class, () -> 
-                dealService.updateDeal("deal123", updateDealRequest, Role.USER));
+                dealService.updateDeal("deal123", updateDealRequest, 4L, Role.USER));
     }
 
     @Test
     void updateDealStage_NotFound_ThrowsException() {
+        when(dealRepository.transitionStage(anyString(), any(), any(), any(DealStage.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
         when(dealRepository.findById(anyString())).thenReturn(Optional.empty());
         
         assertThrows(ResourceNotFoundException.class, () -> 
-                dealService.updateDealStage("deal123", DealStage.Closed, Role.USER));
+                dealService.updateDealStage("deal123", DealStage.Closed, null, null, Role.USER));
+    }
+
+    @Test
+    void updateDealStage_UnexpectedCurrentStage_ThrowsConflict() {
+        deal.setCurrentStage(DealStage.Lost);
+        when(dealRepository.transitionStage(eq("deal123"), eq(DealStage.Prospect), isNull(), eq(DealStage.Closed), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(dealRepository.findById("deal123")).thenReturn(Optional.of(deal));
+        
+        assertThrows(ConflictException.class, () -> 
+                dealService.updateDealStage("deal123", DealStage.Closed, DealStage.Prospect, null, Role.USER));
+        
+        verifyNoInteractions(kafkaProducerService);
+    }
+
+    @Test
+    void updateDealStage_StaleIfMatch_ThrowsPreconditionFailed() {
+        deal.setVersion(5L);
+        when(dealRepository.transitionStage(eq("deal123"), isNull(), eq(4L), eq(DealStage.Closed), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(dealRepository.findById("deal123")).thenReturn(Optional.of(deal));
+        
+        assertThrows(PreconditionFailedException.class, () -> 
+                dealService.updateDealStage("deal123", DealStage.Closed, null, 4L, Role.USER));
+        
+        verifyNoInteractions(kafkaProducerService);
+    }
+
+    @Test
+    void updateDealStages_ReportsEachItemAndPublishesOneBatch() {
+        Deal unchanged = Deal.builder().id("deal2").currentStage(DealStage.Closed).build();
+        Deal moved = Deal.builder().id("deal4").currentStage(DealStage.Lost).build();
+        when(dealRepository.findStagesByIds(any())).thenReturn(Arrays.asList(deal, unchanged, moved));
+        when(dealRepository.transitionStages(anyList(), any(LocalDateTime.class))).thenReturn(1);
+        
+        BatchStageUpdateResponse result = dealService.updateDealStages(Arrays.asList(
+                StageTransitionRequest.builder().dealId("deal123").stage(DealStage.UnderEvaluation).build(),
+                StageTransitionRequest.builder().dealId("deal2").stage(DealStage.Closed).build(),
+                StageTransitionRequest.builder().dealId("deal3").stage(DealStage.Closed).build(),
+                StageTransitionRequest.builder().dealId("deal4").stage(DealStage.Closed)
+                        .expectedStage(DealStage.TermSheetSubmitted).build()));
+        
+        assertEquals(4, result.getRequested());
+        assertEquals(1, result.getApplied());
+        assertEquals(Arrays.asList(StageTransitionResult.Status.APPLIED, StageTransitionResult.Status.UNCHANGED,
+                        StageTransitionResult.Status.NOT_FOUND, StageTransitionResult.Status.CONFLICT),
+                result.getResults().stream().map(StageTransitionResult::getStatus).collect(Collectors.toList()));
+        
+        ArgumentCaptor<List<StageTransitionRequest>> moves = ArgumentCaptor.forClass(List.class);
+        verify(dealRepository).transitionStages(moves.capture(), any(LocalDateTime.class));
+        assertEquals(1, moves.getValue().size());
+        assertEquals(DealStage.Prospect, moves.getValue().get(0).getExpectedStage());
+        
+        ArgumentCaptor<List<DealStageUpdatedEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(kafkaProducerService).publishDealStageUpdatedEvents(events.capture());
+        assertEquals(1, events.getValue().size());
+        assertEquals("Prospect", events.getValue().get(0).getPreviousStage());
+        verify(dealRepository, times(1)).findStagesByIds(any());
+    }
+    
+    @Test
+    void updateDealStages_LostRace_ReportsConflictAfterVerification() {
+        Deal movedMeanwhile = Deal.builder().id("deal123").currentStage(DealStage.Lost)
+                .updatedAt(LocalDateTime.now().minusSeconds(1)).build();
+        when(dealRepository.findStagesByIds(any()))
+                .thenReturn(Arrays.asList(deal), Arrays.asList(movedMeanwhile));
+        when(dealRepository.transitionStages(anyList(), any(LocalDateTime.class))).thenReturn(0);
+        
+        BatchStageUpdateResponse result = dealService.updateDealStages(Arrays.asList(
+                StageTransitionRequest.builder().dealId("deal123").stage(DealStage.Closed).build()));
+        
+        assertEquals(0, result.getApplied());
+        StageTransitionResult item = result.getResults().get(0);
+        assertEquals(StageTransitionResult.Status.CONFLICT, item.getStatus());
+        assertEquals(DealStage.Lost, item.getCurrentStage());
+        verify(kafkaProducerService).publishDealStageUpdatedEvents(Collections.emptyList());
+    }
+    
+    @Test
+    void updateDealStages_DuplicateDeal_ThrowsException() {
+        assertThrows(BadRequestException.class, () -> dealService.updateDealStages(Arrays.asList(
+                StageTransitionRequest.builder().dealId("deal123").stage(DealStage.Closed).build(),
+                StageTransitionRequest.builder().dealId("deal123").stage(DealStage.Lost).build())));
+        
+        verifyNoInteractions(dealRepository);
     }
 
     @Test
     void updateDealValue_NotFound_ThrowsException() {
-        when(dealRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(dealRepository.updateAndGet(anyString(), isNull(), any(Update.class))).thenReturn(Optional.empty());
         
         assertThrows(ResourceNotFoundException.class, () -> 
-                dealService.updateDealValue("deal123", 2000000L, Role.ADMIN));
+                dealService.updateDealValue("deal123", 2000000L, null, Role.ADMIN));
     }
 
     @Test
     void addNote_NotFound_ThrowsException() {
-        when(dealRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(dealRepository.updateAndGet(anyString(), any(Update.class))).thenReturn(Optional.empty());
         
         assertThrows(ResourceNotFoundException.class, () -> 
                 dealService.addNote("deal123", addNoteRequest, "user123", Role.USER));
@@ -316,21 +683,21 @@ class DealServiceTest {
 
     @Test
     void deleteDeal_NotFound_ThrowsException() {
-        when(dealRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(dealRepository.removeById("deal123", null)).thenReturn(false);
         
         assertThrows(ResourceNotFoundException.class, () -> 
-                dealService.deleteDeal("deal123"));
+                dealService.deleteDeal("deal123", null));
     }
 
     @Test
     void getAllDeals_EmptyList_Success() {
-        when(dealRepository.findAll()).thenReturn(Arrays.asList());
+        when(dealRepository.findAllForListing()).thenReturn(Arrays.asList());
         
         List<DealResponse> result = dealService.getAllDeals(Role.USER);
         
         assertNotNull(result);
         assertEquals(0, result.size());
-        verify(dealRepository, times(1)).findAll();
+        verify(dealRepository, times(1)).findAllForListing();
     }
 
     @Test
@@ -346,7 +713,7 @@ class DealServiceTest {
                 .clientName("Beta Corp")
                 .build();
 
-        when(dealRepository.findAll()).thenReturn(Arrays.asList(deal, deal2));
+        when(dealRepository.findAllSummaries()).thenReturn(Arrays.asList(deal, deal2));
         when(dealMapper.toSummaryResponse(deal)).thenReturn(dealSummaryResponse);
         when(dealMapper.toSummaryResponse(deal2)).thenReturn(summary2);
         
@@ -354,7 +721,7 @@ class DealServiceTest {
         
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(dealRepository, times(1)).findAll();
+        verify(dealRepository, times(1)).findAllSummaries();
         verify(dealMapper, times(2)).toSummaryResponse(any(Deal.class));
     }
 
@@ -367,4 +734,128 @@ class DealServiceTest {
         assertNotNull(result);
         assertEquals(0, result.size());
     }
+
+    @Test
+    void getDealsPage_FirstPage_ReturnsNextCursor() {
+        Deal deal2 = Deal.builder()
+                .id("deal456")
+                .clientName("Beta Corp")
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 10, 0))
+                .build();
+        Deal deal3 = Deal.builder()
+                .id("deal789")
+                .clientName("Gamma Corp")
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 9, 0))
+                .build();
+
+        when(dealRepository.findPage(null, 3)).thenReturn(Arrays.asList(deal, deal2, deal3));
+        when(dealMapper.toResponse(any(Deal.class), any(Role.class))).thenReturn(dealResponse);
+        
+        CursorPageResponse<DealResponse> result = dealService.getDealsPage(null, 2, Role.USER);
+        
+        assertEquals(2, result.getSize());
+        assertTrue(result.isHasMore());
+        KeysetCursor next = KeysetCursor.decode(result.getNextCursor());
+        assertEquals("deal456", next.getId());
+        assertEquals(deal2.getUpdatedAt(), next.getTimestamp());
+    }
+
+    @Test
+    void getDealsSummaryPage_LastPage_HasNoCursor() {
+        String cursor = new KeysetCursor(LocalDateTime.of(2024, 1, 1, 10, 0), "deal456").encode();
+        when(dealRepository.findSummaryPage(any(KeysetCursor.class), eq(DealService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(Arrays.asList(deal));
+        
+        CursorPageResponse<RawValue> result = dealService.getDealsSummaryPage(cursor, null);
+        
+        assertEquals(1, result.getSize());
+        assertFalse(result.isHasMore());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getDealsPage_SizeAboveMax_IsCapped() {
+        when(dealRepository.findPage(null, DealService.MAX_PAGE_SIZE + 1)).thenReturn(Arrays.asList());
+        
+        CursorPageResponse<DealResponse> result = dealService.getDealsPage(null, 10_000, Role.USER);
+        
+        assertEquals(0, result.getSize());
+        verify(dealRepository, times(1)).findPage(null, DealService.MAX_PAGE_SIZE + 1);
+    }
+
+    @Test
+    void getDealsPage_InvalidSize_ThrowsException() {
+        assertThrows(BadRequestException.class, () -> 
+                dealService.getDealsPage(null, 0, Role.USER));
+    }
+
+    @Test
+    void filterDeals_PassesFilterToRepository() {
+        DealFilterRequest filter = DealFilterRequest.builder()
+                .stages(Arrays.asList(DealStage.Prospect, DealStage.UnderEvaluation))
+                .sector("Technology")
+                .minValue(500000L)
+                .build();
+        when(dealRepository.findPage(filter, null, DealService.DEFAULT_PAGE_SIZE + 1))
+                .thenReturn(Arrays.asList(deal));
+        when(dealMapper.toResponse(any(Deal.class), any(Role.class))).thenReturn(dealResponse);
+        
+        CursorPageResponse<DealResponse> result = dealService.filterDeals(filter, null, null, Role.USER);
+        
+        assertEquals(1, result.getSize());
+        assertFalse(result.isHasMore());
+        verify(dealRepository, never()).findAllForListing();
+    }
+
+    @Test
+    void filterDeals_InvertedValueRange_ThrowsException() {
+        DealFilterRequest filter = DealFilterRequest.builder()
+                .minValue(2000000L)
+                .maxValue(1000000L)
+                .build();
+        
+        assertThrows(BadRequestException.class, () -> 
+                dealService.filterDeals(filter, null, null, Role.USER));
+        
+        verify(dealRepository, never()).findPage(any(DealFilterRequest.class), any(), anyInt());
+    }
+
+    @Test
+    void searchDeals_UsesTextSearchWithDefaultLimit() {
+        when(dealRepository.searchSummaries("acme", DealService.DEFAULT_SEARCH_LIMIT))
+                .thenReturn(Arrays.asList(deal));
+        
+        List<RawValue> result = dealService.searchDeals("  acme ", null);
+        
+        assertEquals(1, result.size());
+        assertTrue(result.get(0).rawValue().toString().contains("\"clientName\":\"Acme Corp\""));
+    }
+    
+    @Test
+    void searchDeals_ReusesSummaryJsonForUnchangedVersion() {
+        deal.setVersion(4L);
+        when(dealRepository.searchSummaries("acme", DealService.DEFAULT_SEARCH_LIMIT))
+                .thenReturn(Arrays.asList(deal));
+        
+        RawValue first = dealService.searchDeals("acme", null).get(0);
+        RawValue second = dealService.searchDeals("acme", null).get(0);
+        
+        assertSame(first.rawValue(), second.rawValue());
+    }
+
+    @Test
+    void searchDeals_LimitIsCapped() {
+        when(dealRepository.searchSummaries("acme", DealService.MAX_SEARCH_LIMIT)).thenReturn(Arrays.asList());
+        
+        dealService.searchDeals("acme", 1000);
+        
+        verify(dealRepository, times(1)).searchSummaries("acme", DealService.MAX_SEARCH_LIMIT);
+    }
+
+    @Test
+    void searchDeals_TooShort_ThrowsException() {
+        assertThrows(BadRequestException.class, () -> dealService.searchDeals(" a ", null));
+        
+        verify(dealRepository, never()).searchSummaries(anyString(), anyInt());
+    }
 }
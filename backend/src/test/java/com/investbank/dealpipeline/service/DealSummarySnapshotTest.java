@@ -0,0 +1,144 @@
+package com.investbank.dealpipeline.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investbank.dealpipeline.mapper.DealMapper;
+import com.investbank.dealpipeline.model.Deal;
+import com.investbank.dealpipeline.repository.DealRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealSummarySnapshotTest {
+
+    @Mock
+    private DealRepository dealRepository;
+
+    private DealSummarySnapshot dealSummarySnapshot;
+
+    @BeforeEach
+    void setUp() {
+        dealSummarySnapshot = new DealSummarySnapshot(dealRepository, new DealSummaryFragments(new DealMapper(),
+                new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL), 100, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(dealSummarySnapshot, "maxAge", Duration.ofMinutes(10));
+    }
+
+    @Test
+    void current_LoadsOnceAndReusesTheBytes() {
+        when(dealRepository.findAllSummaries()).thenReturn(List.of(summary("deal1", "Acme")));
+
+        DealSummarySnapshot.Snapshot first = dealSummarySnapshot.current();
+        DealSummarySnapshot.Snapshot second = dealSummarySnapshot.current();
+
+        assertSame(first, second);
+        assertEquals("[{\"id\":\"deal1\",\"clientName\":\"Acme\"}]", json(first));
+        assertFalse(first.eTag().isEmpty());
+        verify(dealRepository, times(1)).findAllSummaries();
+    }
+
+    @Test
+    void current_PatchesOnlyStaleDeals() {
+        when(dealRepository.findAllSummaries()).thenReturn(List.of(summary("deal1", "Acme"), summary("deal2", "Globex")));
+        DealSummarySnapshot.Snapshot before = dealSummarySnapshot.current();
+
+        when(dealRepository.findSummariesByIds(List.of("deal1"))).thenReturn(List.of(summary("deal1", "Acme Holdings")));
+        dealSummarySnapshot.markStale("deal1");
+        DealSummarySnapshot.Snapshot after = dealSummarySnapshot.current();
+
+        assertEquals("[{\"id\":\"deal1\",\"clientName\":\"Acme Holdings\"},{\"id\":\"deal2\",\"clientName\":\"Globex\"}]",
+                json(after));
+        assertEquals(before.version() + 1, after.version());
+        assertNotEquals(before.eTag(), after.eTag());
+        verify(dealRepository, times(1)).findAllSummaries();
+    }
+
+    @Test
+    void current_DropsDeletedAndAppendsNewDeals() {
+        when(dealRepository.findAllSummaries()).thenReturn(List.of(summary("deal1", "Acme")));
+        dealSummarySnapshot.current();
+
+        when(dealRepository.findSummariesByIds(anyCollection())).thenReturn(List.of(summary("deal2", "Globex")));
+        dealSummarySnapshot.markStale(List.of("deal1", "deal2"));
+
+        assertEquals("[{\"id\":\"deal2\",\"clientName\":\"Globex\"}]", json(dealSummarySnapshot.current()));
+    }
+
+    @Test
+    void current_FailedPatch_ServesPreviousAndKeepsDealsStale() {
+        when(dealRepository.findAllSummaries()).thenReturn(List.of(summary("deal1", "Acme")));
+        dealSummarySnapshot.current();
+
+        when(dealRepository.findSummariesByIds(anyCollection()))
+                .thenThrow(new RuntimeException("Mongo unavailable"))
+                .thenReturn(List.of(summary("deal1", "Acme Holdings")));
+        dealSummarySnapshot.markStale("deal1");
+
+        assertEquals("[{\"id\":\"deal1\",\"clientName\":\"Acme\"}]", json(dealSummarySnapshot.current()));
+        assertEquals("[{\"id\":\"deal1\",\"clientName\":\"Acme Holdings\"}]", json(dealSummarySnapshot.current()));
+    }
+
+    @Test
+    void current_WhileAnotherRequestRefreshes_ServesPreviousSnapshot() throws Exception {
+        when(dealRepository.findAllSummaries()).thenReturn(List.of(summary("deal1", "Acme")));
+        DealSummarySnapshot.Snapshot before = dealSummarySnapshot.current();
+        dealSummarySnapshot.markStale("deal1");
+
+        ReentrantLock refreshLock = (ReentrantLock) ReflectionTestUtils.getField(dealSummarySnapshot, "refreshLock");
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> refreshing = CompletableFuture.runAsync(() -> {
+            refreshLock.lock();
+            try {
+                locked.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                refreshLock.unlock();
+            }
+        });
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        assertSame(before, dealSummarySnapshot.current());
+        verify(dealRepository, never()).findSummariesByIds(anyCollection());
+
+        release.countDown();
+        refreshing.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void current_ReloadsEverythingOnceExpired() {
+        // Already expired the moment it is loaded
+        ReflectionTestUtils.setField(dealSummarySnapshot, "maxAge", Duration.ofMillis(-1));
+        when(dealRepository.findAllSummaries()).thenReturn(List.of(summary("deal1", "Acme")));
+
+        dealSummarySnapshot.current();
+        dealSummarySnapshot.current();
+
+        verify(dealRepository, times(2)).findAllSummaries();
+    }
+
+    private Deal summary(String id, String clientName) {
+        return Deal.builder().id(id).clientName(clientName).build();
+    }
+
+    private String json(DealSummarySnapshot.Snapshot snapshot) {
+        return new String(snapshot.body(), StandardCharsets.UTF_8);
+    }
+}
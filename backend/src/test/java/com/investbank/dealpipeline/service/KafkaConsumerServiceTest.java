@@ -0,0 +1,82 @@
+package com.investbank.dealpipeline.service;
+
+import com.investbank.dealpipeline.security.RevokedTokens;
+import com.investbank.dealpipeline.security.TokenEpochs;
+import com.investbank.dealpipeline.security.UserDetailsServiceImpl;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaConsumerServiceTest {
+    
+    @Mock
+    private DealCache dealCache;
+    
+    @Mock
+    private DealSummarySnapshot dealSummarySnapshot;
+    
+    @Mock
+    private TokenEpochs tokenEpochs;
+    
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+    
+    @Mock
+    private RevokedTokens revokedTokens;
+    
+    @InjectMocks
+    private KafkaConsumerService kafkaConsumerService;
+    
+    @Test
+    void evictCachedEntry_EvictsByRecordKey() {
+        kafkaConsumerService.evictCachedEntry(
+                new ConsumerRecord<>("deal-events", 0, 42L, "deal-123", "{\"eventType\":\"DEAL_UPDATED\"}"));
+        
+        verify(dealCache).evict("deal-123");
+        verify(dealSummarySnapshot).markStale("deal-123");
+    }
+    
+    @Test
+    void evictCachedEntry_UserEventReloadsTokenEpochs() {
+        kafkaConsumerService.evictCachedEntry(
+                new ConsumerRecord<>("deal-events", 0, 43L, "user:user123", "{\"eventType\":\"USER_DEACTIVATED\"}"));
+        
+        verify(tokenEpochs).reload();
+        verify(userDetailsService).evictAll();
+        verifyNoInteractions(dealCache, dealSummarySnapshot);
+    }
+    
+    @Test
+    void evictCachedEntry_TokenEventRevokesTheToken() {
+        kafkaConsumerService.evictCachedEntry(new ConsumerRecord<>("deal-events", 0, 44L, "token:token123",
+                "{\"eventType\":\"TOKEN_REVOKED\",\"tokenId\":\"token123\",\"userId\":\"user123\","
+                        + "\"expiresAt\":[2024,1,16,10,30]}"));
+        
+        verify(revokedTokens).add("token123", LocalDateTime.of(2024, 1, 16, 10, 30));
+        verifyNoInteractions(dealCache, dealSummarySnapshot, tokenEpochs);
+    }
+    
+    @Test
+    void evictCachedEntry_UnreadableTokenEventReloadsRevokedTokens() {
+        kafkaConsumerService.evictCachedEntry(
+                new ConsumerRecord<>("deal-events", 0, 45L, "token:token123", "not json"));
+        
+        verify(revokedTokens).reload();
+        verifyNoInteractions(dealCache, dealSummarySnapshot);
+    }
+    
+    @Test
+    void consumeDealEvent_DoesNotTouchTheCaches() {
+        kafkaConsumerService.consumeDealEvent("{\"eventType\":\"DEAL_CREATED\"}");
+        
+        verifyNoInteractions(dealCache, dealSummarySnapshot);
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.kafka.support.SendResult;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -131,4 +132,31 @@ class KafkaProducerServiceTest {
         verify(kafkaTemplate, times(1)).send(eq(TOPIC), eq("deal-789"), any(String.class));
         // Service should log error but not throw exception
     }
+    
+    @Test
+    void shouldPublishStageUpdatedEventsAsOneBatch() {
+        // Given
+        DealStageUpdatedEvent first = DealStageUpdatedEvent.builder().dealId("deal-1").newStage("Closed").build();
+        DealStageUpdatedEvent second = DealStageUpdatedEvent.builder().dealId("deal-2").newStage("Lost").build();
+        
+        CompletableFuture<SendResult<String, String>> future = CompletableFuture.completedFuture(null);
+        when(kafkaTemplate.send(eq(TOPIC), any(String.class), any(String.class))).thenReturn(future);
+        
+        // When
+        kafkaProducerService.publishDealStageUpdatedEvents(List.of(first, second));
+        
+        // Then
+        verify(kafkaTemplate).send(eq(TOPIC), eq("deal-1"), any(String.class));
+        verify(kafkaTemplate).send(eq(TOPIC), eq("deal-2"), any(String.class));
+        verify(kafkaTemplate, times(1)).flush();
+    }
+    
+    @Test
+    void shouldSkipFlushForEmptyBatch() {
+        // When
+        kafkaProducerService.publishDealStageUpdatedEvents(List.of());
+        
+        // Then
+        verifyNoInteractions(kafkaTemplate);
+    }
 }
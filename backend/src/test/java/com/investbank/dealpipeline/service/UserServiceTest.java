@@ -1,14 +1,18 @@
 package com.investbank.dealpipeline.service;
 
+import com.investbank.dealpipeline.dto.event.UserStatusChangedEvent;
 import com.investbank.dealpipeline.dto.response.UserResponse;
 import com.investbank.dealpipeline.exception.ResourceNotFoundException;
 import com.investbank.dealpipeline.mapper.UserMapper;
 import com.investbank.dealpipeline.model.Role;
 import com.investbank.dealpipeline.model.User;
 import com.investbank.dealpipeline.repository.UserRepository;
+import com.investbank.dealpipeline.security.TokenEpochs;
+import com.investbank.dealpipeline.security.UserDetailsServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -32,6 +36,15 @@ class UserServiceTest {
     @Mock
     private UserMapper userMapper;
     
+    @Mock
+    private TokenEpochs tokenEpochs;
+    
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+    
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+    
     @InjectMocks
     private UserService userService;
     
@@ -94,14 +107,14 @@ class UserServiceTest {
     @Test
     void getAllUsers_Success() {
         List<User> users = Arrays.asList(user);
-        when(userRepository.findAll()).thenReturn(users);
+        when(userRepository.findAllForListing()).thenReturn(users);
         when(userMapper.toResponse(any(User.class))).thenReturn(userResponse);
         
         List<UserResponse> result = userService.getAllUsers();
         
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findAllForListing();
     }
     
     @Test
@@ -115,6 +128,23 @@ class UserServiceTest {
         assertNotNull(result);
         verify(userRepository, times(1)).save(any(User.class));
     }
+    
+    @Test
+    void updateUserStatus_Deactivate_RevokesIssuedTokens() {
+        when(userRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userMapper.toResponse(any(User.class))).thenReturn(userResponse);
+        
+        userService.updateUserStatus("user123", false);
+        
+        assertEquals(1L, user.getTokenEpoch());
+        verify(userDetailsService).evict("testuser");
+        verify(tokenEpochs).advance("user123", 1L);
+        ArgumentCaptor<UserStatusChangedEvent> event = ArgumentCaptor.forClass(UserStatusChangedEvent.class);
+        verify(kafkaProducerService).publishUserStatusChangedEvent(event.capture());
+        assertEquals("USER_DEACTIVATED", event.getValue().getEventType());
+        assertEquals(1L, event.getValue().getTokenEpoch());
+    }
 
     @Test
     void getUserByUsername_NotFound_ThrowsException() {
@@ -134,13 +164,13 @@ class UserServiceTest {
 
     @Test
     void getAllUsers_EmptyList_Success() {
-        when(userRepository.findAll()).thenReturn(Arrays.asList());
+        when(userRepository.findAllForListing()).thenReturn(Arrays.asList());
         
         List<UserResponse> result = userService.getAllUsers();
         
         assertNotNull(result);
         assertEquals(0, result.size());
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findAllForListing();
     }
 
     @Test
@@ -161,7 +191,7 @@ class UserServiceTest {
                 .active(true)
                 .build();
 
-        when(userRepository.findAll()).thenReturn(Arrays.asList(user, user2));
+        when(userRepository.findAllForListing()).thenReturn(Arrays.asList(user, user2));
         when(userMapper.toResponse(user)).thenReturn(userResponse);
         when(userMapper.toResponse(user2)).thenReturn(userResponse2);
         
@@ -169,7 +199,7 @@ class UserServiceTest {
         
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findAllForListing();
         verify(userMapper, times(2)).toResponse(any(User.class));
     }
 
@@ -184,5 +214,7 @@ class UserServiceTest {
         
         assertNotNull(result);
         verify(userRepository, times(1)).save(any(User.class));
+        assertEquals(0L, user.getTokenEpoch());
+        verifyNoInteractions(tokenEpochs);
     }
 }
@@ -0,0 +1,39 @@
+package com.investbank.dealpipeline.util;
+
+import com.investbank.dealpipeline.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void shouldRoundTripCursor() {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 3, 15, 14, 30, 5, 123_000_000);
+        KeysetCursor cursor = new KeysetCursor(timestamp, "65f1c2a9e4b0a1b2c3d4e5f6");
+        
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+        
+        assertEquals(timestamp, decoded.getTimestamp());
+        assertEquals("65f1c2a9e4b0a1b2c3d4e5f6", decoded.getId());
+    }
+
+    @Test
+    void shouldProduceUrlSafeToken() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 1, 1, 0, 0), "deal?id/with+chars");
+        
+        String token = cursor.encode();
+        
+        assertFalse(token.contains("+"));
+        assertFalse(token.contains("/"));
+        assertFalse(token.contains("="));
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("bm8tc2VwYXJhdG9y"));
+    }
+}
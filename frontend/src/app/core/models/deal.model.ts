@@ -28,13 +28,22 @@ export interface Deal {
   dealValue?: number;
   currentStage: string; // Changed from DealStage to string to handle backend response
   summary: string;
-  notes: Note[];
+  notes: Note[]; // Latest notes, only on single-deal responses
+  noteCount?: number;
+  lastNote?: Note;
   createdBy: string;
   assignedTo: string;
   createdAt: string;
   updatedAt: string;
 }
 
+export interface CursorPage<T> {
+  items: T[];
+  size: number;
+  hasMore: boolean;
+  nextCursor?: string;
+}
+
 export interface CreateDealRequest {
   clientName: string;
   dealType: string;
@@ -55,6 +64,7 @@ export interface UpdateDealRequest {
 
 export interface UpdateDealStageRequest {
   stage: DealStage;
+  expectedStage?: DealStage;
 }
 
 export interface UpdateDealValueRequest {
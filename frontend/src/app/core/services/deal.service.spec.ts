@@ -176,4 +176,18 @@ describe('DealService', () => {
       req.flush({ ...mockDeal, notes: [mockNote] });
     });
   });
+
+  describe('getDealNotes', () => {
+    it('should fetch a page of notes', () => {
+      const mockNote: Note = { userId: 'admin', note: 'Test note', timestamp: '2024-01-01T00:00:00' };
+
+      service.getDealNotes('1', 3).subscribe(page => {
+        expect(page.items.length).toBe(1);
+      });
+
+      const req = httpMock.expectOne(`${API_URL}/1/notes?size=3`);
+      expect(req.request.method).toBe('GET');
+      req.flush({ items: [mockNote], size: 1, hasMore: false });
+    });
+  });
 });
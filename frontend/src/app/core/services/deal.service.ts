@@ -3,6 +3,8 @@ import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import {
   Deal,
+  Note,
+  CursorPage,
   CreateDealRequest,
   UpdateDealRequest,
   UpdateDealStageRequest,
@@ -47,6 +49,18 @@ export class DealService {
     return this.http.post<Deal>(`${this.apiUrl}/${id}/notes`, request);
   }
   
+  // Newest first
+  getDealNotes(id: string, size?: number, cursor?: string): Observable<CursorPage<Note>> {
+    const params: { [param: string]: string } = {};
+    if (size) {
+      params['size'] = String(size);
+    }
+    if (cursor) {
+      params['cursor'] = cursor;
+    }
+    return this.http.get<CursorPage<Note>>(`${this.apiUrl}/${id}/notes`, { params });
+  }
+  
   deleteDeal(id: string): Observable<void> {
     return this.http.delete<void>(`${this.apiUrl}/${id}`);
   }
@@ -33,7 +33,8 @@ describe('DealEditDialogComponent', () => {
   };
 
   beforeEach(async () => {
-    mockDealService = jasmine.createSpyObj('DealService', ['updateDeal', 'updateDealStage', 'updateDealValue', 'addNote']);
+    mockDealService = jasmine.createSpyObj('DealService', ['updateDeal', 'updateDealStage', 'updateDealValue', 'addNote', 'getDealNotes']);
+    mockDealService.getDealNotes.and.returnValue(of({ items: [], size: 0, hasMore: false }));
     mockAuthService = jasmine.createSpyObj('AuthService', ['isAdmin']);
     mockDialogRef = jasmine.createSpyObj('MatDialogRef', ['close']);
     mockSnackBar = jasmine.createSpyObj('MatSnackBar', ['open']);
@@ -99,6 +100,17 @@ describe('DealEditDialogComponent', () => {
     expect(mockDealService.addNote).toHaveBeenCalled();
   });
 
+  it('should load recent notes when the deal has notes', () => {
+    const note = { userId: 'user1', note: 'Kick-off call held', timestamp: '2024-01-02' };
+    mockDealService.getDealNotes.and.returnValue(of({ items: [note], size: 1, hasMore: false }));
+    component.deal = { ...mockDeal, noteCount: 1 };
+
+    component.ngOnInit();
+
+    expect(mockDealService.getDealNotes).toHaveBeenCalledWith('1', 3);
+    expect(component.recentNotes).toEqual([note]);
+  });
+
   it('should check if user is admin', () => {
     expect(component.isAdmin).toBe(true);
   });
@@ -12,7 +12,9 @@ import { MatChipsModule } from '@angular/material/chips';
 import { MatSnackBar, MatSnackBarModule } from '@angular/material/snack-bar';
 import { DealService } from '../../../core/services/deal.service';
 import { AuthService } from '../../../core/services/auth.service';
-import { Deal, DealType, DealStage, UpdateDealRequest, UpdateDealStageRequest, UpdateDealValueRequest, AddNoteRequest } from '../../../core/models/deal.model';
+import { Deal, Note, DealType, DealStage, UpdateDealRequest, UpdateDealStageRequest, UpdateDealValueRequest, AddNoteRequest } from '../../../core/models/deal.model';
+
+const RECENT_NOTES_SIZE = 3;
 
 @Component({
   selector: 'app-deal-edit-dialog',
@@ -43,6 +45,7 @@ export class DealEditDialogComponent implements OnInit {
   dealStages = Object.values(DealStage);
   isAdmin = false;
   saving = false;
+  recentNotes: Note[] = [];
 
   constructor(
     @Inject(MAT_DIALOG_DATA) public deal: Deal,
@@ -57,6 +60,20 @@ export class DealEditDialogComponent implements OnInit {
 
   ngOnInit(): void {
     this.initForms();
+    this.loadRecentNotes();
+  }
+
+  // Deals from the list only carry noteCount and lastNote, so the latest notes are fetched on their own
+  private loadRecentNotes(): void {
+    if (!this.deal.noteCount) {
+      this.recentNotes = [];
+      return;
+    }
+
+    this.dealService.getDealNotes(this.deal.id, RECENT_NOTES_SIZE).subscribe({
+      next: (page) => this.recentNotes = page.items,
+      error: () => this.recentNotes = this.deal.lastNote ? [this.deal.lastNote] : []
+    });
   }
 
   private initForms(): void {
@@ -114,7 +131,7 @@ export class DealEditDialogComponent implements OnInit {
     }
 
     this.saving = true;
-    const request: UpdateDealStageRequest = { stage: newStage };
+    const request: UpdateDealStageRequest = { stage: newStage, expectedStage: this.deal.currentStage };
 
     this.dealService.updateDealStage(this.deal.id, request).subscribe({
       next: (updatedDeal) => {
@@ -171,7 +188,9 @@ export class DealEditDialogComponent implements OnInit {
       next: (updatedDeal) => {
         this.snackBar.open('Note added successfully', 'Close', { duration: 3000 });
         this.noteForm.reset();
-        this.deal.notes = updatedDeal.notes;
+        this.deal.noteCount = updatedDeal.noteCount;
+        this.deal.lastNote = updatedDeal.lastNote;
+        this.loadRecentNotes();
         this.saving = false;
       },
       error: (error) => {